@@ -0,0 +1,123 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongBiFunction;
+
+import static com.github.mmdemirbas.oncalls.ReverseIndex.firstEndingAfter;
+import static com.github.mmdemirbas.oncalls.ReverseIndex.firstIndexOf;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A prefix-sum index on top of a {@link ReverseIndex} which answers aggregate queries per value, such as total
+ * duration, number of shifts and number of handoffs in an arbitrary range, in {@code O(log n)}.
+ * <p>
+ * Durations are measured by the provided {@code durationMetric} which must be additive, that is
+ * {@code metric(a, c) == metric(a, b) + metric(b, c)} for any {@code a <= b <= c}.
+ * <p>
+ * This class is immutable if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class AggregateIndex<C extends Comparable<? super C>, V> {
+    private final ReverseIndex<C, V>                     reverseIndex;
+    private final ToLongBiFunction<? super C, ? super C> durationMetric;
+    private final Map<V, long[]>                         cumulativeDurations;
+
+    public static <C extends Comparable<? super C>, V> AggregateIndex<C, V> of(TimelineSegment<C, V> segment,
+                                                                               ToLongBiFunction<? super C, ? super C> durationMetric) {
+        return of(ReverseIndex.of(segment), durationMetric);
+    }
+
+    public static <C extends Comparable<? super C>, V> AggregateIndex<C, V> of(ReverseIndex<C, V> reverseIndex,
+                                                                               ToLongBiFunction<? super C, ? super C> durationMetric) {
+        return new AggregateIndex<>(reverseIndex, durationMetric);
+    }
+
+    private AggregateIndex(ReverseIndex<C, V> reverseIndex, ToLongBiFunction<? super C, ? super C> durationMetric) {
+        this.reverseIndex = requireNonNull(reverseIndex, "reverseIndex");
+        this.durationMetric = requireNonNull(durationMetric, "durationMetric");
+
+        Map<V, long[]> cumulativeDurations = new HashMap<>();
+        for (V value : reverseIndex.getValues()) {
+            List<Range<C>> ranges     = reverseIndex.getRanges(value);
+            long[]         cumulative = new long[ranges.size() + 1];
+            for (int i = 0; i < ranges.size(); i++) {
+                cumulative[i + 1] = cumulative[i] + durationOf(ranges.get(i));
+            }
+            cumulativeDurations.put(value, cumulative);
+        }
+        this.cumulativeDurations = unmodifiableMap(cumulativeDurations);
+    }
+
+    public ReverseIndex<C, V> getReverseIndex() {
+        return reverseIndex;
+    }
+
+    /**
+     * Returns the total duration of the intersection of the specified {@code range} with the ranges of the specified
+     * {@code value}.
+     */
+    public long totalDuration(V value, Range<C> range) {
+        requireNonNull(range, "range");
+        List<Range<C>> ranges = reverseIndex.getRanges(value);
+        int            from   = firstIntersecting(ranges, range);
+        int            to     = endOfIntersecting(ranges, range);
+        if (from >= to) {
+            return 0;
+        }
+
+        long[]   cumulative = cumulativeDurations.get(value);
+        long     total      = cumulative[to] - cumulative[from];
+        Range<C> first      = ranges.get(from);
+        Range<C> last       = ranges.get(to - 1);
+        if (first.getStartInclusive().compareTo(range.getStartInclusive()) < 0) {
+            total -= durationMetric.applyAsLong(first.getStartInclusive(), range.getStartInclusive());
+        }
+        if (last.getEndExclusive().compareTo(range.getEndExclusive()) > 0) {
+            total -= durationMetric.applyAsLong(range.getEndExclusive(), last.getEndExclusive());
+        }
+        return total;
+    }
+
+    /**
+     * Returns number of the ranges of the specified {@code value} intersecting with the specified {@code range}.
+     */
+    public int countShifts(V value, Range<C> range) {
+        requireNonNull(range, "range");
+        List<Range<C>> ranges = reverseIndex.getRanges(value);
+        return Math.max(0, endOfIntersecting(ranges, range) - firstIntersecting(ranges, range));
+    }
+
+    /**
+     * Returns number of the times the specified {@code value} takes over or hands over strictly inside the
+     * specified {@code range}. Boundaries coinciding with the start or end of the {@code range} are not counted.
+     */
+    public int countHandoffs(V value, Range<C> range) {
+        requireNonNull(range, "range");
+        List<Range<C>> ranges       = reverseIndex.getRanges(value);
+        C              start        = range.getStartInclusive();
+        C              end          = range.getEndExclusive();
+        int            startsBefore = firstIndexOf(ranges, it -> it.getStartInclusive().compareTo(end) >= 0);
+        int            startsUntil  = firstIndexOf(ranges, it -> it.getStartInclusive().compareTo(start) > 0);
+        int            endsBefore   = firstIndexOf(ranges, it -> it.getEndExclusive().compareTo(end) >= 0);
+        int            endsUntil    = firstIndexOf(ranges, it -> it.getEndExclusive().compareTo(start) > 0);
+        return Math.max(0, startsBefore - startsUntil) + Math.max(0, endsBefore - endsUntil);
+    }
+
+    private long durationOf(Range<C> range) {
+        return durationMetric.applyAsLong(range.getStartInclusive(), range.getEndExclusive());
+    }
+
+    private static <C extends Comparable<? super C>> int firstIntersecting(List<Range<C>> ranges, Range<C> range) {
+        return firstEndingAfter(ranges, range.getStartInclusive());
+    }
+
+    private static <C extends Comparable<? super C>> int endOfIntersecting(List<Range<C>> ranges, Range<C> range) {
+        if (range.isEmpty()) {
+            return 0;
+        }
+        C end = range.getEndExclusive();
+        return firstIndexOf(ranges, it -> it.getStartInclusive().compareTo(end) >= 0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes primitive values to a {@link WritableByteChannel} through a fixed-size buffer.
+ * <p>
+ * Variable-length integers are written in unsigned LEB128 form, 7 bits per byte starting from the least significant
+ * group. Signed values are zig-zag encoded first, so that small negative numbers stay short.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class ByteSink {
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer          buffer;
+    private       long                position;
+
+    ByteSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    ByteSink(WritableByteChannel channel, int bufferSize) {
+        this.channel = requireNonNull(channel, "channel");
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, Long.BYTES * 2));
+    }
+
+    /**
+     * Returns number of bytes written so far, including the ones not flushed yet.
+     */
+    long position() {
+        return position;
+    }
+
+    void writeByte(int value) throws IOException {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+        position++;
+    }
+
+    void writeInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    void writeLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    void writeVarLong(long value) throws IOException {
+        ensureRemaining(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+            position++;
+        }
+        buffer.put((byte) remaining);
+        position++;
+    }
+
+    void writeVarInt(int value) throws IOException {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeZigZag(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes the given {@code bytes} prefixed with their length.
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        writeRawBytes(bytes);
+    }
+
+    /**
+     * Writes the given {@code bytes} as is, without a length prefix.
+     */
+    void writeRawBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+        position += bytes.length;
+    }
+
+    /**
+     * Writes all buffered bytes to the underlying channel. Doesn't close the channel.
+     */
+    void flush() throws IOException {
+        // Buffer methods are called through Buffer to keep the binary compatible with JDK 8
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
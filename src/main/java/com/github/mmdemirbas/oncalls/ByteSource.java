@@ -0,0 +1,112 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads primitive values written by a {@link ByteSink} from a {@link ReadableByteChannel} through a fixed-size buffer.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class ByteSource {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer          buffer;
+    private       long                filled;
+
+    ByteSource(ReadableByteChannel channel) {
+        this(channel, ByteSink.DEFAULT_BUFFER_SIZE);
+    }
+
+    ByteSource(ReadableByteChannel channel, int bufferSize) {
+        this.channel = requireNonNull(channel, "channel");
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, Long.BYTES * 2));
+        ((Buffer) this.buffer).flip();
+    }
+
+    /**
+     * Returns number of bytes consumed so far.
+     */
+    long position() {
+        return filled - buffer.remaining();
+    }
+
+    int readByte() throws IOException {
+        ensureAvailable(1);
+        return buffer.get() & 0xFF;
+    }
+
+    int readInt() throws IOException {
+        ensureAvailable(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+        ensureAvailable(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed variable-length integer");
+    }
+
+    int readVarInt() throws IOException {
+        long value = readVarLong();
+        if ((value >>> Integer.SIZE) != 0) {
+            throw new IOException("variable-length integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    long readZigZag() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    byte[] readBytes() throws IOException {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("negative length: " + length);
+        }
+        return readRawBytes(length);
+    }
+
+    /**
+     * Reads the specified number of bytes without a length prefix.
+     */
+    byte[] readRawBytes(int length) throws IOException {
+        byte[] bytes  = new byte[length];
+        int    offset = 0;
+        while (offset < length) {
+            ensureAvailable(1);
+            int count = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, count);
+            offset += count;
+        }
+        return bytes;
+    }
+
+    private void ensureAvailable(int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            buffer.compact();
+            int read = channel.read(buffer);
+            ((Buffer) buffer).flip();
+            if (read < 0) {
+                throw new EOFException();
+            }
+            filled += read;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.mmdemirbas.oncalls;
+
+import lombok.Value;
+
+import java.util.List;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a value associated by more than one timeline during a {@link Range}.
+ * <p>
+ * This class is immutable if the generic types {@link C} and {@link V} are immutable.
+ *
+ * @param <C> type of time points on the time line
+ * @param <V> type of the conflicting value
+ */
+@Value
+public final class Conflict<C extends Comparable<? super C>, V> {
+    private final V             value;
+    private final Range<C>      range;
+    private final List<Integer> timelineIndices;
+
+    public static <C extends Comparable<? super C>, V> Conflict<C, V> of(V value,
+                                                                         Range<C> range,
+                                                                         List<Integer> timelineIndices) {
+        return new Conflict<>(value, range, timelineIndices);
+    }
+
+    private Conflict(V value, Range<C> range, List<Integer> timelineIndices) {
+        this.value = value;
+        this.range = requireNonNull(range, "range");
+        this.timelineIndices = unmodifiableCopyOf(requireNonNull(timelineIndices, "timelineIndices"));
+    }
+}
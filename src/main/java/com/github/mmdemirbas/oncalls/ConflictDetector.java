@@ -0,0 +1,147 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Detects values associated by more than one of the given {@link Timeline}s at the same time, for example engineers
+ * double-booked across different team rotations.
+ * <p>
+ * Detection is a single sweep over the key points of all timelines, which costs {@code O(P log N)} where {@code P} is
+ * the total number of key points and {@code N} is the number of timelines. No merged segment is built, but segments of
+ * the timelines are created on the whole calculation range when the stream is first read.
+ * <p>
+ * This class is immutable, if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class ConflictDetector<C extends Comparable<? super C>, V> {
+    private final List<Timeline<C, V>> timelines;
+
+    public static <C extends Comparable<? super C>, V> ConflictDetector<C, V> of(List<Timeline<C, V>> timelines) {
+        return new ConflictDetector<>(timelines);
+    }
+
+    private ConflictDetector(List<Timeline<C, V>> timelines) {
+        this.timelines = unmodifiableCopyOf(requireNonNull(timelines, "timelines"));
+    }
+
+    /**
+     * Returns a lazy stream of {@link Conflict}s on the specified {@code calculationRange}. Each conflict refers to the
+     * timelines by their indices in the list this detector is created with.
+     * <p>
+     * Conflicts are ordered by their end points. Successive conflicts of the same value are reported separately only
+     * if the set of conflicting timelines changes.
+     * <p>
+     * No segment is created until the stream is first read.
+     */
+    public Stream<Conflict<C, V>> findConflicts(Range<C> calculationRange) {
+        requireNonNull(calculationRange, "calculationRange");
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(newIterator(calculationRange),
+                                                                              characteristics),
+                                    characteristics,
+                                    false);
+    }
+
+    private Iterator<Conflict<C, V>> newIterator(Range<C> calculationRange) {
+        List<TimelineSegment<C, V>> segments = timelines.stream()
+                                                        .map(timeline -> timeline.toSegment(calculationRange))
+                                                        .collect(Collectors.toList());
+        return new ConflictIterator<>(new SegmentSweep<>(segments));
+    }
+
+    private static final class ConflictIterator<C extends Comparable<? super C>, V> implements Iterator<Conflict<C, V>> {
+        private final SegmentSweep<C, V>    sweep;
+        private final Map<V, Set<Integer>>  holders   = new HashMap<>();
+        private final Map<V, Open<C>>       open      = new HashMap<>();
+        private final Deque<Conflict<C, V>> completed = new ArrayDeque<>();
+
+        ConflictIterator(SegmentSweep<C, V> sweep) {
+            this.sweep = sweep;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (completed.isEmpty() && sweep.hasNext()) {
+                step();
+            }
+            return !completed.isEmpty();
+        }
+
+        @Override
+        public Conflict<C, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return completed.poll();
+        }
+
+        private void step() {
+            C      point   = sweep.next();
+            Set<V> touched = new LinkedHashSet<>();
+            for (int index : sweep.getChangedIndices()) {
+                Set<V> previous = new HashSet<>(sweep.previousValues(index));
+                Set<V> current  = new HashSet<>(sweep.currentValues(index));
+                for (V value : previous) {
+                    if (!current.contains(value)) {
+                        holders.get(value).remove(index);
+                        touched.add(value);
+                    }
+                }
+                for (V value : current) {
+                    if (!previous.contains(value)) {
+                        holders.computeIfAbsent(value, x -> new TreeSet<>()).add(index);
+                        touched.add(value);
+                    }
+                }
+            }
+
+            for (V value : touched) {
+                Set<Integer>  indices  = holders.get(value);
+                List<Integer> conflict = (indices.size() > 1) ? new ArrayList<>(indices) : null;
+                Open<C>       ongoing  = open.get(value);
+                if ((ongoing != null) && !ongoing.timelineIndices.equals(conflict)) {
+                    completed.add(Conflict.of(value, Range.of(ongoing.start, point), ongoing.timelineIndices));
+                    open.remove(value);
+                    ongoing = null;
+                }
+                if ((conflict != null) && (ongoing == null)) {
+                    open.put(value, new Open<>(point, conflict));
+                }
+                if (indices.isEmpty()) {
+                    holders.remove(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * A conflict which is not closed yet.
+     */
+    private static final class Open<C> {
+        private final C             start;
+        private final List<Integer> timelineIndices;
+
+        Open(C start, List<Integer> timelineIndices) {
+            this.start = start;
+            this.timelineIndices = timelineIndices;
+        }
+    }
+}
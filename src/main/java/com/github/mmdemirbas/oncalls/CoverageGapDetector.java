@@ -0,0 +1,139 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Detects ranges where the number of distinct values associated by the given {@link Timeline}s all together is below a
+ * minimum headcount. With a minimum headcount of {@code 1}, this reports exactly the uncovered ranges.
+ * <p>
+ * Detection is a single ordered sweep over the key points of all timelines. Gaps are produced lazily, so the consumer
+ * may stop early. Segments of the timelines are created on the whole calculation range when the stream is first read,
+ * so memory usage grows with the key points in that range, while the sweep itself keeps only the current headcounts.
+ * <p>
+ * This class is immutable, if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class CoverageGapDetector<C extends Comparable<? super C>, V> {
+    private final List<Timeline<C, V>> timelines;
+    private final int                  minHeadcount;
+
+    public static <C extends Comparable<? super C>, V> CoverageGapDetector<C, V> of(Timeline<C, V> timeline,
+                                                                                    int minHeadcount) {
+        return of(singletonList(requireNonNull(timeline, "timeline")), minHeadcount);
+    }
+
+    public static <C extends Comparable<? super C>, V> CoverageGapDetector<C, V> of(List<Timeline<C, V>> timelines,
+                                                                                    int minHeadcount) {
+        return new CoverageGapDetector<>(timelines, minHeadcount);
+    }
+
+    private CoverageGapDetector(List<Timeline<C, V>> timelines, int minHeadcount) {
+        if (minHeadcount < 1) {
+            throw new IllegalArgumentException("minHeadcount must be >= 1, but was: " + minHeadcount);
+        }
+        this.timelines = unmodifiableCopyOf(requireNonNull(timelines, "timelines"));
+        this.minHeadcount = minHeadcount;
+    }
+
+    /**
+     * Returns a lazy stream of the ranges below the minimum headcount on the specified {@code calculationRange}, in
+     * ascending order. Each range is associated with its headcount, which is {@code 0} for uncovered ranges.
+     * Successive ranges having the same headcount are joined.
+     * <p>
+     * No segment is created until the stream is first read.
+     */
+    public Stream<ValuedRange<C, Integer>> findGaps(Range<C> calculationRange) {
+        requireNonNull(calculationRange, "calculationRange");
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(newIterator(calculationRange),
+                                                                              characteristics),
+                                    characteristics,
+                                    false);
+    }
+
+    private Iterator<ValuedRange<C, Integer>> newIterator(Range<C> calculationRange) {
+        List<TimelineSegment<C, V>> segments = timelines.stream()
+                                                        .map(timeline -> timeline.toSegment(calculationRange))
+                                                        .collect(Collectors.toList());
+        return new GapIterator<>(new SegmentSweep<>(segments), calculationRange, minHeadcount);
+    }
+
+    private static final class GapIterator<C extends Comparable<? super C>, V> implements Iterator<ValuedRange<C, Integer>> {
+        private final SegmentSweep<C, V>      sweep;
+        private final Map<V, Integer>         headcounts = new HashMap<>();
+        private final C                       end;
+        private final int                     minHeadcount;
+        private       C                       gapStart;
+        private       int                     gapHeadcount;
+        private       boolean                 finished;
+        private       ValuedRange<C, Integer> next;
+
+        GapIterator(SegmentSweep<C, V> sweep, Range<C> calculationRange, int minHeadcount) {
+            this.sweep = sweep;
+            this.end = calculationRange.getEndExclusive();
+            this.minHeadcount = minHeadcount;
+            this.gapStart = calculationRange.getStartInclusive();
+            this.gapHeadcount = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((next == null) && !finished) {
+                if (sweep.hasNext()) {
+                    step();
+                } else {
+                    finished = true;
+                    closeGap(end);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ValuedRange<C, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ValuedRange<C, Integer> gap = next;
+            next = null;
+            return gap;
+        }
+
+        private void step() {
+            C point = sweep.next();
+            for (int index : sweep.getChangedIndices()) {
+                sweep.previousValues(index)
+                     .forEach(value -> headcounts.computeIfPresent(value, (x, count) -> (count > 1) ? (count - 1) : null));
+                sweep.currentValues(index).forEach(value -> headcounts.merge(value, 1, Integer::sum));
+            }
+
+            int headcount = headcounts.size();
+            if ((gapStart != null) && (headcount != gapHeadcount)) {
+                closeGap(point);
+            }
+            if ((gapStart == null) && (headcount < minHeadcount)) {
+                gapStart = point;
+                gapHeadcount = headcount;
+            }
+        }
+
+        private void closeGap(C point) {
+            if ((gapStart != null) && (gapStart.compareTo(point) < 0)) {
+                next = ValuedRange.of(Range.of(gapStart, point), gapHeadcount);
+            }
+            gapStart = null;
+        }
+    }
+}
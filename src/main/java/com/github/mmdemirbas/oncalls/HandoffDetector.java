@@ -0,0 +1,119 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Produces the ordered sequence of {@link HandoffEvent}s of a collection of identified {@link Timeline}s.
+ * <p>
+ * Events are produced lazily by a single sweep over the key points of all timelines using a priority queue of
+ * per-timeline cursors, so the sweep advances only as far as the consumer reads.
+ * <p>
+ * This class is immutable, if the generic types {@link K}, {@link C} and {@link V} are immutable.
+ *
+ * @param <K> type of the timeline identifiers
+ */
+public final class HandoffDetector<K, C extends Comparable<? super C>, V> {
+    private final Map<K, Timeline<C, V>> timelines;
+
+    public static <K, C extends Comparable<? super C>, V> HandoffDetector<K, C, V> of(Map<K, ? extends Timeline<C, V>> timelines) {
+        return new HandoffDetector<>(timelines);
+    }
+
+    private HandoffDetector(Map<K, ? extends Timeline<C, V>> timelines) {
+        this.timelines = unmodifiableMap(new LinkedHashMap<>(requireNonNull(timelines, "timelines")));
+    }
+
+    /**
+     * Returns a lazy stream of {@link HandoffEvent}s on the specified {@code calculationRange} in ascending order of
+     * time. Events of the same time are ordered by the iteration order of the timelines.
+     * <p>
+     * Changes exactly at the boundaries of the {@code calculationRange} are not reported, since they cannot be
+     * distinguished from the clipping of the timelines.
+     * <p>
+     * No segment is created until the stream is first read.
+     */
+    public Stream<HandoffEvent<K, C, V>> findHandoffs(Range<C> calculationRange) {
+        requireNonNull(calculationRange, "calculationRange");
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(newIterator(calculationRange),
+                                                                              characteristics),
+                                    characteristics,
+                                    false);
+    }
+
+    /**
+     * Creates the sweep when the stream is first read rather than when it is created. The segments of all timelines
+     * are created at that point, since the first key point of each timeline is needed to order the sweep, but their
+     * interval maps are then iterated only as far as the consumer reads.
+     */
+    private Iterator<HandoffEvent<K, C, V>> newIterator(Range<C> calculationRange) {
+        List<K>                     ids      = unmodifiableList(new ArrayList<>(timelines.keySet()));
+        List<TimelineSegment<C, V>> segments = timelines.values()
+                                                        .stream()
+                                                        .map(timeline -> timeline.toSegment(calculationRange))
+                                                        .collect(Collectors.toList());
+        return new HandoffIterator<>(new SegmentSweep<>(segments), ids, calculationRange);
+    }
+
+    private static final class HandoffIterator<K, C extends Comparable<? super C>, V> implements Iterator<HandoffEvent<K, C, V>> {
+        private final SegmentSweep<C, V>           sweep;
+        private final List<K>                      ids;
+        private final Range<C>                     calculationRange;
+        private final Deque<HandoffEvent<K, C, V>> pending = new ArrayDeque<>();
+
+        HandoffIterator(SegmentSweep<C, V> sweep, List<K> ids, Range<C> calculationRange) {
+            this.sweep = sweep;
+            this.ids = ids;
+            this.calculationRange = calculationRange;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending.isEmpty() && sweep.hasNext()) {
+                step();
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public HandoffEvent<K, C, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll();
+        }
+
+        private void step() {
+            C point = sweep.next();
+            if ((point.compareTo(calculationRange.getStartInclusive()) <= 0)
+                || (point.compareTo(calculationRange.getEndExclusive()) >= 0)) {
+                return;
+            }
+            for (int index : sweep.getChangedIndices()) {
+                HandoffEvent<K, C, V> event = HandoffEvent.between(point,
+                                                                   ids.get(index),
+                                                                   sweep.previousValues(index),
+                                                                   sweep.currentValues(index));
+                if (event != null) {
+                    pending.add(event);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.mmdemirbas.oncalls;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a change of the values associated by a timeline at a time point, such as an on-call handoff.
+ * <p>
+ * This class is immutable if the generic types {@link K}, {@link C} and {@link V} are immutable.
+ *
+ * @param <K> type of the timeline identifiers
+ * @param <C> type of time points on the time line
+ * @param <V> type of the values associated by the timeline
+ */
+@Value
+public final class HandoffEvent<K, C extends Comparable<? super C>, V> {
+    private final C       time;
+    private final K       timelineId;
+    private final List<V> added;
+    private final List<V> removed;
+
+    public static <K, C extends Comparable<? super C>, V> HandoffEvent<K, C, V> of(C time,
+                                                                                  K timelineId,
+                                                                                  List<V> added,
+                                                                                  List<V> removed) {
+        return new HandoffEvent<>(time, timelineId, added, removed);
+    }
+
+    private HandoffEvent(C time, K timelineId, List<V> added, List<V> removed) {
+        this.time = requireNonNull(time, "time");
+        this.timelineId = timelineId;
+        this.added = unmodifiableCopyOf(added);
+        this.removed = unmodifiableCopyOf(removed);
+    }
+
+    /**
+     * Creates the event of a timeline changing its values from {@code previous} to {@code current} at {@code time},
+     * or returns {@code null} if nothing is added or removed.
+     */
+    static <K, C extends Comparable<? super C>, V> HandoffEvent<K, C, V> between(C time,
+                                                                                K timelineId,
+                                                                                List<V> previous,
+                                                                                List<V> current) {
+        List<V> added   = difference(current, previous);
+        List<V> removed = difference(previous, current);
+        return (added.isEmpty() && removed.isEmpty()) ? null : of(time, timelineId, added, removed);
+    }
+
+    private static <V> List<V> difference(List<V> values, List<V> excluded) {
+        List<V> result = new ArrayList<>();
+        for (V value : values) {
+            if (!excluded.contains(value) && !result.contains(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exports the ranges of a value, such as the shifts of a recipient, as an RFC 5545 calendar of VEVENTs.
+ * <p>
+ * Events are written directly to the given {@link Writer} or {@link OutputStream} through a bounded buffer, without
+ * building the calendar as a string. Ranges of a single recipient can be taken from a {@link TimelineSegment}, by
+ * walking its interval map once, or from a {@link ReverseIndex}, which is built once for all recipients.
+ * <p>
+ * Each event has a stable UID built from its start, end and the id of the recipient, so that calendar clients can
+ * track changes across exports. Start and end times beyond the years 0000 to 9999 supported by iCalendar, such as
+ * the ends of unbounded ranges, are clamped to those years.
+ * <p>
+ * This class is immutable if the provided functions are stateless.
+ */
+public final class ICalendarExporter<C extends Comparable<? super C>, V> {
+    private final String                       productId;
+    private final Function<? super C, Instant> instantOf;
+    private final Function<? super V, String>  idOf;
+    private final Function<? super V, String>  summaryOf;
+    private final Clock                        clock;
+
+    /**
+     * Creates an exporter stamping events with the current time.
+     *
+     * @param productId identifier of the product creating the calendar, also used as the domain part of event UIDs
+     * @param instantOf converts time points to instants
+     * @param idOf      returns a unique and stable id for a recipient
+     * @param summaryOf returns a summary for the events of a recipient
+     */
+    public static <C extends Comparable<? super C>, V> ICalendarExporter<C, V> of(String productId,
+                                                                                  Function<? super C, Instant> instantOf,
+                                                                                  Function<? super V, String> idOf,
+                                                                                  Function<? super V, String> summaryOf) {
+        return ICalendarExporter.<C, V>of(productId, instantOf, idOf, summaryOf, Clock.systemUTC());
+    }
+
+    public static <C extends Comparable<? super C>, V> ICalendarExporter<C, V> of(String productId,
+                                                                                  Function<? super C, Instant> instantOf,
+                                                                                  Function<? super V, String> idOf,
+                                                                                  Function<? super V, String> summaryOf,
+                                                                                  Clock clock) {
+        return new ICalendarExporter<C, V>(productId, instantOf, idOf, summaryOf, clock);
+    }
+
+    private ICalendarExporter(String productId,
+                              Function<? super C, Instant> instantOf,
+                              Function<? super V, String> idOf,
+                              Function<? super V, String> summaryOf,
+                              Clock clock) {
+        this.productId = requireNonNull(productId, "productId");
+        this.instantOf = requireNonNull(instantOf, "instantOf");
+        this.idOf = requireNonNull(idOf, "idOf");
+        this.summaryOf = requireNonNull(summaryOf, "summaryOf");
+        this.clock = requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Writes a calendar of the ranges of the specified {@code recipient} in the specified {@code segment} to the
+     * given {@code output} in UTF-8. The output is flushed but not closed.
+     */
+    public void export(V recipient, TimelineSegment<C, V> segment, OutputStream output) throws IOException {
+        export(recipient, segment, new OutputStreamWriter(requireNonNull(output, "output"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a calendar of the ranges of the specified {@code recipient} in the specified {@code segment} to the
+     * given {@code writer}. The writer is flushed but not closed.
+     */
+    public void export(V recipient, TimelineSegment<C, V> segment, Writer writer) throws IOException {
+        requireNonNull(segment, "segment");
+        ICalendarWriter calendar = new ICalendarWriter(writer);
+        String          id       = idOf.apply(recipient);
+        String          summary  = summaryOf.apply(recipient);
+        Instant         stamp    = clock.instant();
+        writeHeader(calendar);
+        C start = null;
+        for (Entry<C, List<V>> entry : segment.toIntervalMap().entrySet()) {
+            boolean contains = entry.getValue().contains(recipient);
+            if (contains && (start == null)) {
+                start = entry.getKey();
+            } else if (!contains && (start != null)) {
+                writeEvent(calendar, start, entry.getKey(), id, summary, stamp);
+                start = null;
+            }
+        }
+        writeFooter(calendar);
+    }
+
+    /**
+     * Writes a calendar of the ranges of the specified {@code recipient} in the specified {@code index} to the given
+     * {@code output} in UTF-8. The output is flushed but not closed.
+     */
+    public void export(V recipient, ReverseIndex<C, V> index, OutputStream output) throws IOException {
+        export(recipient, index, new OutputStreamWriter(requireNonNull(output, "output"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a calendar of the ranges of the specified {@code recipient} in the specified {@code index} to the given
+     * {@code writer}. The writer is flushed but not closed.
+     */
+    public void export(V recipient, ReverseIndex<C, V> index, Writer writer) throws IOException {
+        requireNonNull(index, "index");
+        ICalendarWriter calendar = new ICalendarWriter(writer);
+        String          id       = idOf.apply(recipient);
+        String          summary  = summaryOf.apply(recipient);
+        Instant         stamp    = clock.instant();
+        writeHeader(calendar);
+        for (Range<C> range : index.getRanges(recipient)) {
+            writeEvent(calendar, range.getStartInclusive(), range.getEndExclusive(), id, summary, stamp);
+        }
+        writeFooter(calendar);
+    }
+
+    private void writeHeader(ICalendarWriter calendar) throws IOException {
+        calendar.writeLine("BEGIN", "VCALENDAR");
+        calendar.writeLine("VERSION", "2.0");
+        calendar.writeTextLine("PRODID", productId);
+        calendar.writeLine("CALSCALE", "GREGORIAN");
+        calendar.writeLine("METHOD", "PUBLISH");
+    }
+
+    private void writeEvent(ICalendarWriter calendar,
+                            C start,
+                            C end,
+                            String id,
+                            String summary,
+                            Instant stamp) throws IOException {
+        Instant startInstant = instantOf.apply(start);
+        Instant endInstant   = instantOf.apply(end);
+        calendar.writeLine("BEGIN", "VEVENT");
+        calendar.writeName("UID");
+        calendar.writeNumber(startInstant.getEpochSecond());
+        calendar.writeRaw("-");
+        calendar.writeNumber(endInstant.getEpochSecond());
+        calendar.writeRaw("-");
+        calendar.writeText(id);
+        calendar.writeRaw("@");
+        calendar.writeText(productId);
+        calendar.endLine();
+        calendar.writeDateTimeLine("DTSTAMP", stamp);
+        calendar.writeDateTimeLine("DTSTART", startInstant);
+        calendar.writeDateTimeLine("DTEND", endInstant);
+        calendar.writeTextLine("SUMMARY", summary);
+        calendar.writeLine("TRANSP", "OPAQUE");
+        calendar.writeLine("END", "VEVENT");
+    }
+
+    private static void writeFooter(ICalendarWriter calendar) throws IOException {
+        calendar.writeLine("END", "VCALENDAR");
+        calendar.flush();
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes RFC 5545 content lines to a {@link Writer} through a fixed size buffer, without building intermediate
+ * strings. Lines are terminated by CRLF and folded so that no line exceeds 75 octets in UTF-8, without splitting
+ * multi-octet characters.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class ICalendarWriter implements Flushable {
+    private static final int     MAX_LINE_OCTETS = 75;
+    private static final Instant MIN_DATE_TIME   = LocalDateTime.of(0, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+    private static final Instant MAX_DATE_TIME   = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toInstant(ZoneOffset.UTC);
+
+    private final Writer writer;
+    private final char[] buffer;
+    private       int    length;
+    private       int    lineOctets;
+
+    ICalendarWriter(Writer writer) {
+        this(writer, 4096);
+    }
+
+    ICalendarWriter(Writer writer, int bufferSize) {
+        this.writer = requireNonNull(writer, "writer");
+        buffer = new char[bufferSize];
+    }
+
+    /**
+     * Writes a complete content line consisting of the given {@code name} and a {@code value} written as is.
+     */
+    void writeLine(String name, CharSequence value) throws IOException {
+        writeName(name);
+        writeRaw(value);
+        endLine();
+    }
+
+    /**
+     * Writes a complete content line consisting of the given {@code name} and an escaped TEXT {@code value}.
+     */
+    void writeTextLine(String name, CharSequence value) throws IOException {
+        writeName(name);
+        writeText(value);
+        endLine();
+    }
+
+    /**
+     * Writes a complete content line consisting of the given {@code name} and a UTC DATE-TIME {@code value}.
+     */
+    void writeDateTimeLine(String name, Instant value) throws IOException {
+        writeName(name);
+        writeDateTime(value);
+        endLine();
+    }
+
+    void writeName(String name) throws IOException {
+        writeRaw(name);
+        writeChar(':');
+    }
+
+    void writeRaw(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeChar(value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the given {@code value} escaping backslashes, semicolons, commas and line breaks as required for TEXT
+     * values.
+     */
+    void writeText(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                case ';':
+                case ',':
+                    writeEscaped(c);
+                    break;
+                case '\n':
+                    writeEscaped('n');
+                    break;
+                case '\r':
+                    break;
+                default:
+                    writeChar(c);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Writes the given {@code value} in the UTC form of DATE-TIME, such as {@code 20180102T030405Z}. Since DATE-TIME
+     * has four-digit years, instants before the year 0000 or after the year 9999, such as {@link Instant#MIN} and
+     * {@link Instant#MAX} used for unbounded ranges, are clamped to the first or the last second of that range.
+     */
+    void writeDateTime(Instant value) throws IOException {
+        Instant       clamped  = value.isBefore(MIN_DATE_TIME)
+                                 ? MIN_DATE_TIME
+                                 : value.isAfter(MAX_DATE_TIME) ? MAX_DATE_TIME : value;
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(clamped.getEpochSecond(), 0, ZoneOffset.UTC);
+        writeDigits(dateTime.getYear(), 4);
+        writeDigits(dateTime.getMonthValue(), 2);
+        writeDigits(dateTime.getDayOfMonth(), 2);
+        writeChar('T');
+        writeDigits(dateTime.getHour(), 2);
+        writeDigits(dateTime.getMinute(), 2);
+        writeDigits(dateTime.getSecond(), 2);
+        writeChar('Z');
+    }
+
+    void writeNumber(long value) throws IOException {
+        if (value < 0) {
+            writeChar('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while ((value / divisor) >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writeChar((char) ('0' + ((value / divisor) % 10)));
+        }
+    }
+
+    void endLine() throws IOException {
+        put('\r');
+        put('\n');
+        lineOctets = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.write(buffer, 0, length);
+        length = 0;
+        writer.flush();
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        writeChar('\\');
+        writeChar(c);
+    }
+
+    private void writeDigits(int value, int width) throws IOException {
+        for (int divisor = (int) Math.pow(10, width - 1); divisor > 0; divisor /= 10) {
+            writeChar((char) ('0' + ((value / divisor) % 10)));
+        }
+    }
+
+    private void writeChar(char c) throws IOException {
+        int octets = octetsOf(c);
+        if ((lineOctets + octets) > MAX_LINE_OCTETS) {
+            put('\r');
+            put('\n');
+            put(' ');
+            lineOctets = 1;
+        }
+        put(c);
+        lineOctets += octets;
+    }
+
+    private void put(char c) throws IOException {
+        if (length == buffer.length) {
+            writer.write(buffer, 0, length);
+            length = 0;
+        }
+        buffer[length++] = c;
+    }
+
+    private static int octetsOf(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800) {
+            return 2;
+        }
+        if (Character.isHighSurrogate(c)) {
+            return 4; // counts the whole pair, so that it is never split
+        }
+        if (Character.isLowSurrogate(c)) {
+            return 0;
+        }
+        return 3;
+    }
+}
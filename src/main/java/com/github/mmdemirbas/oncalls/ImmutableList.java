@@ -0,0 +1,196 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable lists used for the value lists and interval lists of the library instead of wrapping an
+ * {@link java.util.ArrayList} with {@link java.util.Collections#unmodifiableList(List)}, which takes two objects and a
+ * possibly oversized array per list.
+ * <p>
+ * Lists with more than one element are backed by an exact-size array, and single-element lists by a field. Use
+ * {@link #copyOf(Collection)} or {@link #wrap(Object[], int)} to create instances, which return the shared empty list
+ * for no elements. All mutators throw {@link UnsupportedOperationException}, whether or not they would change the
+ * list.
+ * <p>
+ * This class is immutable if the generic type {@link E} is immutable.
+ *
+ * @param <E> type of the elements
+ */
+abstract class ImmutableList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Returns an immutable copy of the given {@code elements}. Returns the given collection itself if it is already an
+     * instance of this class.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> copyOf(Collection<? extends E> elements) {
+        if ((elements == null) || elements.isEmpty()) {
+            return emptyList();
+        }
+        if (elements instanceof ImmutableList) {
+            return (List<E>) elements;
+        }
+        if (elements.size() == 1) {
+            return new OfOne<>(elements.iterator().next());
+        }
+        return new OfArray<>(elements.toArray());
+    }
+
+    /**
+     * Returns an immutable list of the first {@code size} elements of the given {@code array}. The array is used as is
+     * if it has the exact size, so it must not be modified afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> wrap(Object[] array, int size) {
+        requireNonNull(array, "array");
+        switch (size) {
+            case 0:
+                return emptyList();
+            case 1:
+                return new OfOne<>((E) array[0]);
+            default:
+                return new OfArray<>((size == array.length) ? array : Arrays.copyOf(array, size));
+        }
+    }
+
+    private ImmutableList() {
+    }
+
+    @Override
+    public final boolean add(E element) {
+        throw unsupported();
+    }
+
+    @Override
+    public final void add(int index, E element) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean addAll(Collection<? extends E> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean addAll(int index, Collection<? extends E> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public final E set(int index, E element) {
+        throw unsupported();
+    }
+
+    @Override
+    public final E remove(int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean remove(Object element) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean removeAll(Collection<?> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean retainAll(Collection<?> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public final boolean removeIf(Predicate<? super E> filter) {
+        throw unsupported();
+    }
+
+    @Override
+    public final void replaceAll(UnaryOperator<E> operator) {
+        throw unsupported();
+    }
+
+    @Override
+    public final void sort(Comparator<? super E> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public final void clear() {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("immutable list");
+    }
+
+    private static final class OfOne<E> extends ImmutableList<E> {
+        private final E element;
+
+        OfOne(E element) {
+            this.element = element;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: 1");
+            }
+            return element;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            requireNonNull(action, "action").accept(element);
+        }
+    }
+
+    private static final class OfArray<E> extends ImmutableList<E> {
+        private final Object[] elements;
+
+        OfArray(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action) {
+            requireNonNull(action, "action");
+            for (Object element : elements) {
+                action.accept((E) element);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableNavigableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds an interval map, in the form produced by {@link ValuedRange#buildIntervalMap(java.util.Collection)}, from
+ * intervals arriving in ascending order of their start points, without keeping them all in memory.
+ * <p>
+ * Only the currently ongoing intervals are kept, in a priority queue by their end points, together with a reference
+ * count per value, so that overlapping intervals of the same value are joined. Values are listed in the order they
+ * become ongoing.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class IntervalMapBuilder<C extends Comparable<? super C>, V> {
+    private final NavigableMap<C, List<V>> intervalMap;
+    private final Map<V, Integer>          ongoingCounts;
+    private final PriorityQueue<Pending>   pendingEnds;
+    private final ValueSetDictionary<V>    dictionary;
+    private       List<V>                  lastValues;
+    private       C                        lastStart;
+    private       C                        point;
+    private       long                     sequence;
+
+    IntervalMapBuilder() {
+        intervalMap = new TreeMap<>();
+        ongoingCounts = new LinkedHashMap<>();
+        pendingEnds = new PriorityQueue<>(Comparator.<Pending, C>comparing(pending -> pending.end)
+                                                  .thenComparingLong(pending -> pending.sequence));
+        dictionary = new ValueSetDictionary<>();
+        lastValues = emptyList();
+    }
+
+    /**
+     * Adds an interval. Start points must be in ascending order. Empty intervals are skipped.
+     *
+     * @throws IllegalArgumentException if {@code start} is less than the start of the previous interval, or if
+     *                                  {@code end} is less than {@code start}
+     */
+    void add(C start, C end, V value) {
+        requireNonNull(start, "start");
+        requireNonNull(end, "end");
+        if ((lastStart != null) && (start.compareTo(lastStart) < 0)) {
+            throw new IllegalArgumentException("start points must be ascending: " + start + " < " + lastStart);
+        }
+        int order = start.compareTo(end);
+        if (order > 0) {
+            throw new IllegalArgumentException("end is before start: " + end + " < " + start);
+        }
+        lastStart = start;
+        if (order == 0) {
+            return;
+        }
+        endBefore(start);
+        moveTo(start);
+        ongoingCounts.merge(value, 1, Integer::sum);
+        pendingEnds.add(new Pending(end, value, sequence++));
+    }
+
+    /**
+     * Returns the interval map of all intervals added so far. This builder must not be used afterwards.
+     */
+    NavigableMap<C, List<V>> build() {
+        endBefore(null);
+        moveTo(null);
+        return unmodifiableNavigableMap(intervalMap);
+    }
+
+    /**
+     * Ends all ongoing intervals ending before the specified {@code limit}, or all of them if it is {@code null}.
+     */
+    private void endBefore(C limit) {
+        while (!pendingEnds.isEmpty() && ((limit == null) || (pendingEnds.peek().end.compareTo(limit) < 0))) {
+            Pending pending = pendingEnds.poll();
+            moveTo(pending.end);
+            ongoingCounts.computeIfPresent(pending.value, (value, count) -> (count == 1) ? null : (count - 1));
+        }
+    }
+
+    /**
+     * Records values of the current point if the specified {@code next} point is after it, and makes it current.
+     */
+    private void moveTo(C next) {
+        if ((point != null) && ((next == null) || (point.compareTo(next) < 0))) {
+            List<V> values = dictionary.intern(new ArrayList<>(ongoingCounts.keySet()));
+            if (values != lastValues) {
+                intervalMap.put(point, values);
+                lastValues = values;
+            }
+        }
+        point = next;
+    }
+
+    private final class Pending {
+        final C    end;
+        final V    value;
+        final long sequence;
+
+        Pending(C end, V value, long sequence) {
+            this.end = end;
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
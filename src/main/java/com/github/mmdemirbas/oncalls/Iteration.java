@@ -38,4 +38,8 @@ public final class Iteration<C extends Comparable<? super C>> {
     public IterationBuilder<C> newBuilder(BinaryOperator<C> sum) {
         return IterationBuilder.of(this, sum);
     }
+
+    public IterationBuilder<C> newBuilder(TimeAxis<C> axis) {
+        return IterationBuilder.of(this, axis);
+    }
 }
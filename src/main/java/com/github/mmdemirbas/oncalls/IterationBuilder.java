@@ -7,20 +7,35 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.github.mmdemirbas.oncalls.Range.maxOf;
+import static com.github.mmdemirbas.oncalls.Range.minOf;
 import static java.util.Objects.requireNonNull;
 
 public final class IterationBuilder<C extends Comparable<? super C>> {
     private final BinaryOperator<C> sum;
+    private final TimeAxis<C>       axis;
     private       Iteration<C>      iteration;
 
     public static <C extends Comparable<? super C>> IterationBuilder<C> of(Iteration<C> iteration,
                                                                            BinaryOperator<C> sum) {
-        return new IterationBuilder<>(iteration, sum);
+        return new IterationBuilder<>(iteration, requireNonNull(sum, "sum"), null);
     }
 
-    private IterationBuilder(Iteration<C> iteration, BinaryOperator<C> sum) {
+    /**
+     * Creates a builder which adds points by adding their {@code long} values on the given {@code axis}, and splits
+     * iterations on primitive {@code long}s without allocating intermediate ranges.
+     */
+    public static <C extends Comparable<? super C>> IterationBuilder<C> of(Iteration<C> iteration, TimeAxis<C> axis) {
+        requireNonNull(axis, "axis");
+        return new IterationBuilder<>(iteration,
+                                      (x, y) -> axis.fromLong(Math.addExact(axis.toLong(x), axis.toLong(y))),
+                                      axis);
+    }
+
+    private IterationBuilder(Iteration<C> iteration, BinaryOperator<C> sum, TimeAxis<C> axis) {
         this.iteration = requireNonNull(iteration, "iteration");
-        this.sum = requireNonNull(sum, "sum");
+        this.sum = sum;
+        this.axis = axis;
     }
 
     public Iteration<C> build() {
@@ -28,7 +43,7 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
     }
 
     public Iterations<C> split(Iteration<C> unit, C startOffset, Function<IterationBuilder<C>, Iterations<C>> build) {
-        IterationBuilder<C> builder  = unit.newBuilder(sum);
+        IterationBuilder<C> builder  = new IterationBuilder<>(unit, sum, axis);
         Iterations<C>       modified = build.apply(builder);
         return split(modified, startOffset);
     }
@@ -41,6 +56,9 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
     public Iterations<C> split(Iterations<C> units, C startOffset) {
         requireNonNull(units, "units");
         requireNonNull(startOffset, "startOffset");
+        if (axis != null) {
+            return splitOnAxis(units, startOffset);
+        }
 
         C                             unitDuration         = units.getDuration();
         List<ValuedRange<C, Integer>> iterations           = new ArrayList<>();
@@ -52,11 +70,13 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
                 Range<C> range          = unit.getRange();
                 Integer  iterationIndex = unit.getValue();
 
+                C unitStart = sum.apply(startOffset, range.getStartInclusive());
+                C unitEnd   = sum.apply(startOffset, range.getEndExclusive());
                 for (Range<C> subRange : iteration.getRanges()) {
-                    C        finalOffset = startOffset;
-                    Range<C> intersect   = range.map(value -> sum.apply(finalOffset, value)).intersect(subRange);
-                    if (!intersect.isEmpty()) {
-                        iterations.add(ValuedRange.of(intersect, iterationIndexOffset + iterationIndex));
+                    C start = maxOf(unitStart, subRange.getStartInclusive());
+                    C end   = minOf(unitEnd, subRange.getEndExclusive());
+                    if (start.compareTo(end) < 0) {
+                        iterations.add(ValuedRange.of(Range.of(start, end), iterationIndexOffset + iterationIndex));
                     }
                 }
             }
@@ -67,6 +87,48 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
         return Iterations.of(iteration.getDuration(), iterations);
     }
 
+    /**
+     * Same as {@link #split(Iterations, Comparable)}, but computes on {@code long}s of the axis, and finds the
+     * sub-ranges intersecting with a unit by binary search instead of checking all of them.
+     */
+    private Iterations<C> splitOnAxis(Iterations<C> units, C startOffset) {
+        LongRangeList                 subRanges            = LongRangeList.of(iteration.getRanges(), axis);
+        List<ValuedRange<C, Integer>> unitRanges           = units.getRanges();
+        LongRangeList                 unitBounds           = new LongRangeList(unitRanges.size());
+        List<ValuedRange<C, Integer>> iterations           = new ArrayList<>();
+        long                          duration             = axis.toLong(iteration.getDuration());
+        long                          unitDuration         = axis.toLong(units.getDuration());
+        long                          offset               = axis.toLong(startOffset);
+        int                           iterationIndexOffset = 0;
+        long                          uniqueIterationCount = units.findUniqueIterationCount();
+
+        for (ValuedRange<C, Integer> unit : unitRanges) {
+            unitBounds.add(axis.toLong(unit.getRange().getStartInclusive()),
+                           axis.toLong(unit.getRange().getEndExclusive()));
+        }
+        while (offset < duration) {
+            for (int u = 0; u < unitBounds.size(); u++) {
+                long unitStart      = offset + unitBounds.getStart(u);
+                long unitEnd        = offset + unitBounds.getEnd(u);
+                int  iterationIndex = iterationIndexOffset + unitRanges.get(u).getValue();
+                for (int k = subRanges.firstEndingAfter(unitStart);
+                     (k < subRanges.size()) && (subRanges.getStart(k) < unitEnd);
+                     k++) {
+                    long start = Math.max(unitStart, subRanges.getStart(k));
+                    long end   = Math.min(unitEnd, subRanges.getEnd(k));
+                    if (start < end) {
+                        iterations.add(ValuedRange.of(Range.of(axis.fromLong(start), axis.fromLong(end)),
+                                                      iterationIndex));
+                    }
+                }
+            }
+            iterationIndexOffset += uniqueIterationCount;
+            offset += unitDuration;
+        }
+
+        return Iterations.of(iteration.getDuration(), iterations);
+    }
+
     public IterationBuilder<C> repeat(int count) {
         if (count < 1)
             throw new RuntimeException("count must be >= 1, but was: " + count);
@@ -79,7 +141,7 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
     }
 
     public IterationBuilder<C> concat(Iteration<C> other, Consumer<IterationBuilder<C>> modify) {
-        IterationBuilder<C> builder = other.newBuilder(sum);
+        IterationBuilder<C> builder = new IterationBuilder<>(other, sum, axis);
         modify.accept(builder);
         return concat(builder.iteration);
     }
@@ -102,7 +164,7 @@ public final class IterationBuilder<C extends Comparable<? super C>> {
     }
 
     private Iteration<C> modify(Iteration<C> other, Consumer<IterationBuilder<C>> modify) {
-        IterationBuilder<C> builder = other.newBuilder(sum);
+        IterationBuilder<C> builder = new IterationBuilder<>(other, sum, axis);
         modify.accept(builder);
         return builder.iteration;
     }
@@ -0,0 +1,234 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.github.mmdemirbas.oncalls.Range.maxOf;
+import static com.github.mmdemirbas.oncalls.Range.minOf;
+import static com.github.mmdemirbas.oncalls.Utils.orEmpty;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link TimelineSegment} view of the merge of two segments, which evaluates the merge on demand instead of
+ * computing the whole merged segment up front.
+ * <p>
+ * Point queries compute only the run of equal merged values around the queried point, and memoize it, so that
+ * repeated queries in the same region don't call the merge function again. The merged interval map is materialized
+ * only if {@link #toIntervalMap()} or {@link #getKeyPoints()} is called, after which all queries are answered from it.
+ * <p>
+ * Value lists are the ones produced by the merge function, which may list values in a different order than
+ * {@link #mergeWith(TimelineSegment, MergeFunction)} does after rebuilding the merged intervals.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class LazyMergedSegment<C extends Comparable<? super C>, V, A> implements TimelineSegment<C, V> {
+    private final TimelineSegment<C, V>      first;
+    private final TimelineSegment<C, A>      second;
+    private final MergeFunction<V, A>        mergeFunction;
+    private final NavigableMap<C, Run<C, V>> runs;
+    private final ValueSetDictionary<V>      dictionary;
+    private final List<V>                    buffer;
+    private       NavigableSet<C>            firstKeys;
+    private       NavigableSet<C>            secondKeys;
+    private       StaticTimeline<C, V>       materialized;
+
+    LazyMergedSegment(TimelineSegment<C, V> first, TimelineSegment<C, A> second, MergeFunction<V, A> mergeFunction) {
+        this.first = requireNonNull(first, "first");
+        this.second = requireNonNull(second, "segment");
+        this.mergeFunction = requireNonNull(mergeFunction, "mergeFunction");
+        this.runs = new TreeMap<>();
+        this.dictionary = new ValueSetDictionary<>();
+        this.buffer = new ArrayList<>();
+    }
+
+    /**
+     * Returns {@code true} if the whole merged interval map has been computed.
+     */
+    boolean isMaterialized() {
+        return materialized != null;
+    }
+
+    @Override
+    public TimelineSegment<C, V> newSegment(List<ValuedRange<C, V>> intervals) {
+        return first.newSegment(intervals);
+    }
+
+    @Override
+    public Set<C> getKeyPoints() {
+        return materialize().getKeyPoints();
+    }
+
+    @Override
+    public NavigableMap<C, List<V>> toIntervalMap() {
+        return materialize().toIntervalMap();
+    }
+
+    @Override
+    public List<V> findCurrentValues(C point) {
+        ValuedRange<C, List<V>> interval = findCurrentInterval(point);
+        return (interval == null) ? null : interval.getValue();
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findCurrentInterval(C point) {
+        if (materialized != null) {
+            return materialized.findCurrentInterval(point);
+        }
+        return toInterval(runAt(point));
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findNextInterval(C point) {
+        if (materialized != null) {
+            return materialized.findNextInterval(point);
+        }
+        Run<C, V> current = runAt(point);
+        C         next    = (current == null) ? firstKeyAfter(point) : current.end;
+        Run<C, V> run     = (next == null) ? null : runAt(next);
+        if ((run != null) && run.leading) {
+            run = runAt(run.end);
+        }
+        return toInterval(run);
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findNextNonEmptyInterval(C point) {
+        ValuedRange<C, List<V>> interval = findNextInterval(point);
+        while ((interval != null) && interval.getValue().isEmpty()) {
+            interval = findNextInterval(interval.getRange().getStartInclusive());
+        }
+        return interval;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the memoized run containing the given {@code point}, computing and memoizing it if needed, or
+     * {@code null} if the point is before the first or at or after the last key point. Empty runs at the start and at
+     * the end are marked, since they are not part of the merged interval map.
+     */
+    private Run<C, V> runAt(C point) {
+        requireNonNull(point, "point");
+        Entry<C, Run<C, V>> entry = runs.floorEntry(point);
+        if ((entry != null) && (entry.getValue().end.compareTo(point) > 0)) {
+            return entry.getValue();
+        }
+
+        C start = maxOf(firstKeys().floor(point), secondKeys().floor(point));
+        C end   = minOf(firstKeys().higher(point), secondKeys().higher(point));
+        if ((start == null) || (end == null)) {
+            return null;
+        }
+        List<V> values = mergeAt(start);
+
+        C previous = maxOf(firstKeys().lower(start), secondKeys().lower(start));
+        while ((previous != null) && (mergeAt(previous) == values)) {
+            start = previous;
+            previous = maxOf(firstKeys().lower(start), secondKeys().lower(start));
+        }
+        C next = firstKeyAfter(end);
+        while ((next != null) && (mergeAt(end) == values)) {
+            end = next;
+            next = firstKeyAfter(end);
+        }
+
+        boolean   empty = values.isEmpty();
+        Run<C, V> run   = new Run<>(start, end, values, empty && (previous == null), empty && (next == null));
+        runs.put(start, run);
+        return run;
+    }
+
+    /**
+     * Returns the interned merged values at the given key point.
+     */
+    private List<V> mergeAt(C point) {
+        List<V> myValues    = orEmpty(first.findCurrentValues(point));
+        List<A> theirValues = orEmpty(second.findCurrentValues(point));
+        buffer.clear();
+        boolean changed = mergeFunction.merge(myValues, theirValues, buffer);
+        return dictionary.intern(changed ? buffer : myValues);
+    }
+
+    private C firstKeyAfter(C point) {
+        return minOf(firstKeys().higher(point), secondKeys().higher(point));
+    }
+
+    private StaticTimeline<C, V> materialize() {
+        if (materialized == null) {
+            NavigableSet<C> points = new TreeSet<>(firstKeys());
+            points.addAll(secondKeys());
+
+            NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+            List<V>                  values      = emptyList();
+            for (C point : points) {
+                List<V> mergedValues = mergeAt(point);
+                if ((mergedValues != values) && (!intervalMap.isEmpty() || !mergedValues.isEmpty())) {
+                    intervalMap.put(point, mergedValues);
+                }
+                values = mergedValues;
+            }
+            // the interval map ends with an empty list at the end of the last non-empty run
+            if (!intervalMap.isEmpty()) {
+                intervalMap.put(points.last(), emptyList());
+            }
+            while ((intervalMap.size() > 1)
+                   && intervalMap.lastEntry().getValue().isEmpty()
+                   && intervalMap.lowerEntry(intervalMap.lastKey()).getValue().isEmpty()) {
+                intervalMap.pollLastEntry();
+            }
+            if ((intervalMap.size() == 1) && intervalMap.firstEntry().getValue().isEmpty()) {
+                intervalMap.clear();
+            }
+            materialized = StaticTimeline.ofIntervalMap(intervalMap);
+            runs.clear();
+        }
+        return materialized;
+    }
+
+    private NavigableSet<C> firstKeys() {
+        if (firstKeys == null) {
+            firstKeys = navigableKeysOf(first);
+        }
+        return firstKeys;
+    }
+
+    private NavigableSet<C> secondKeys() {
+        if (secondKeys == null) {
+            secondKeys = navigableKeysOf(second);
+        }
+        return secondKeys;
+    }
+
+    private static <C extends Comparable<? super C>> NavigableSet<C> navigableKeysOf(TimelineSegment<C, ?> segment) {
+        Set<C> keys = segment.getKeyPoints();
+        return (keys instanceof NavigableSet) ? (NavigableSet<C>) keys : new TreeSet<>(keys);
+    }
+
+    private static <C extends Comparable<? super C>, V> ValuedRange<C, List<V>> toInterval(Run<C, V> run) {
+        boolean outside = (run == null) || run.leading || run.trailing;
+        return outside ? null : ValuedRange.of(Range.of(run.start, run.end), run.values);
+    }
+
+    private static final class Run<C, V> {
+        private final C       start;
+        private final C       end;
+        private final List<V> values;
+        private final boolean leading;
+        private final boolean trailing;
+
+        Run(C start, C end, List<V> values, boolean leading, boolean trailing) {
+            this.start = start;
+            this.end = end;
+            this.values = values;
+            this.leading = leading;
+            this.trailing = trailing;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.mmdemirbas.oncalls;
+
+import lombok.Value;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a range between two primitive {@code long} points, as a primitive counterpart of {@link Range} for
+ * points mapped by a {@link TimeAxis}.
+ * <p>
+ * Start point is inclusive, and end point is exclusive. The static methods operate on bare start and end points, so
+ * that hot loops can use them without allocating range objects.
+ * <p>
+ * This class is immutable.
+ */
+@Value
+public final class LongRange {
+    private final long startInclusive;
+    private final long endExclusive;
+
+    /**
+     * Creates a range from the given start and end points.
+     *
+     * @throws IllegalArgumentException if {@code endExclusive < startInclusive}
+     */
+    public static LongRange of(long startInclusive, long endExclusive) {
+        return new LongRange(startInclusive, endExclusive);
+    }
+
+    /**
+     * Creates a range by mapping the points of the given {@code range} on the given {@code axis}.
+     */
+    public static <C extends Comparable<? super C>> LongRange of(Range<C> range, TimeAxis<C> axis) {
+        requireNonNull(range, "range");
+        requireNonNull(axis, "axis");
+        return of(axis.toLong(range.getStartInclusive()), axis.toLong(range.getEndExclusive()));
+    }
+
+    private LongRange(long startInclusive, long endExclusive) {
+        checkBounds(startInclusive, endExclusive);
+        this.startInclusive = startInclusive;
+        this.endExclusive = endExclusive;
+    }
+
+    public boolean isEmpty() {
+        return startInclusive == endExclusive;
+    }
+
+    public boolean contains(long point) {
+        return contains(startInclusive, endExclusive, point);
+    }
+
+    /**
+     * Returns intersection of this range with the given range, which is an empty range if they don't intersect.
+     */
+    public LongRange intersect(LongRange other) {
+        requireNonNull(other, "other");
+        long start = Math.max(startInclusive, other.startInclusive);
+        long end   = Math.min(endExclusive, other.endExclusive);
+        return of(Math.min(start, end), end);
+    }
+
+    public <C extends Comparable<? super C>> Range<C> toRange(TimeAxis<C> axis) {
+        requireNonNull(axis, "axis");
+        return Range.of(axis.fromLong(startInclusive), axis.fromLong(endExclusive));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns {@code true} if the range {@code [start, end)} contains the given {@code point}.
+     */
+    public static boolean contains(long start, long end, long point) {
+        return (start <= point) && (point < end);
+    }
+
+    /**
+     * Returns {@code true} if the ranges {@code [start1, end1)} and {@code [start2, end2)} have a non-empty
+     * intersection.
+     */
+    public static boolean intersects(long start1, long end1, long start2, long end2) {
+        return (Math.max(start1, start2) < Math.min(end1, end2));
+    }
+
+    /**
+     * Returns {@code true} if the ranges {@code [start1, end1)} and {@code [start2, end2)} can be joined into a single
+     * range, that is they intersect or touch each other.
+     */
+    public static boolean joinable(long start1, long end1, long start2, long end2) {
+        return (Math.max(start1, start2) <= Math.min(end1, end2));
+    }
+
+    static void checkBounds(long startInclusive, long endExclusive) {
+        if (endExclusive < startInclusive) {
+            throw new IllegalArgumentException(String.format("end was smaller then start: %s < %s",
+                                                             endExclusive,
+                                                             startInclusive));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A growable list of {@link LongRange}s packed into a single {@code long[]} of start and end pairs, so that storing
+ * and scanning ranges doesn't allocate an object per range.
+ * <p>
+ * The set operations {@link #intersect}, {@link #union} and {@link #contains} expect lists sorted by start points
+ * and consisting of disjoint ranges, such as the ones created from the ranges of an {@link Iteration}. Their results
+ * are written into a caller-provided output list, which can be reused across calls to avoid allocations.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class LongRangeList {
+    private long[] bounds;
+    private int    size;
+
+    public LongRangeList() {
+        this(8);
+    }
+
+    public LongRangeList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        bounds = new long[2 * initialCapacity];
+    }
+
+    /**
+     * Creates a list by mapping the points of the given {@code ranges} on the given {@code axis}, in order.
+     */
+    public static <C extends Comparable<? super C>> LongRangeList of(Collection<Range<C>> ranges, TimeAxis<C> axis) {
+        requireNonNull(ranges, "ranges");
+        requireNonNull(axis, "axis");
+        LongRangeList list = new LongRangeList(ranges.size());
+        for (Range<C> range : ranges) {
+            list.add(axis.toLong(range.getStartInclusive()), axis.toLong(range.getEndExclusive()));
+        }
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getStart(int index) {
+        checkIndex(index);
+        return bounds[2 * index];
+    }
+
+    public long getEnd(int index) {
+        checkIndex(index);
+        return bounds[(2 * index) + 1];
+    }
+
+    public LongRange get(int index) {
+        return LongRange.of(getStart(index), getEnd(index));
+    }
+
+    /**
+     * Appends the range {@code [start, end)}.
+     *
+     * @throws IllegalArgumentException if {@code end < start}
+     */
+    public void add(long start, long end) {
+        LongRange.checkBounds(start, end);
+        if ((2 * size) == bounds.length) {
+            bounds = Arrays.copyOf(bounds, Math.max(2, 2 * bounds.length));
+        }
+        bounds[2 * size] = start;
+        bounds[(2 * size) + 1] = end;
+        size++;
+    }
+
+    /**
+     * Appends the range {@code [start, end)}, joining it to the last range if they intersect or touch each other.
+     * Empty ranges are skipped. Ranges must be appended in ascending order of their start points.
+     */
+    public void join(long start, long end) {
+        LongRange.checkBounds(start, end);
+        if (start == end) {
+            return;
+        }
+        int last = size - 1;
+        if ((last >= 0) && (start <= bounds[(2 * last) + 1])) {
+            bounds[(2 * last) + 1] = Math.max(bounds[(2 * last) + 1], end);
+        } else {
+            add(start, end);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns index of the first range ending after the given {@code point}, or {@link #size()} if there is no such
+     * range. The list must be sorted and disjoint.
+     */
+    public int firstEndingAfter(long point) {
+        int low  = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[(2 * mid) + 1] <= point) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns {@code true} if any range contains the given {@code point}. The list must be sorted and disjoint.
+     */
+    public boolean contains(long point) {
+        int index = firstEndingAfter(point);
+        return (index < size) && (bounds[2 * index] <= point);
+    }
+
+    public <C extends Comparable<? super C>> List<Range<C>> toRanges(TimeAxis<C> axis) {
+        requireNonNull(axis, "axis");
+        Object[] ranges = new Object[size];
+        for (int i = 0; i < size; i++) {
+            ranges[i] = Range.of(axis.fromLong(bounds[2 * i]), axis.fromLong(bounds[(2 * i) + 1]));
+        }
+        return ImmutableList.wrap(ranges, size);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Replaces the contents of {@code output} with the intersection of the sorted and disjoint lists {@code a} and
+     * {@code b}, in {@code O(n + m)} without allocating unless {@code output} grows.
+     */
+    public static void intersect(LongRangeList a, LongRangeList b, LongRangeList output) {
+        checkOutput(a, b, output);
+        output.clear();
+        int i = 0;
+        int j = 0;
+        while ((i < a.size) && (j < b.size)) {
+            long start = Math.max(a.bounds[2 * i], b.bounds[2 * j]);
+            long endA  = a.bounds[(2 * i) + 1];
+            long endB  = b.bounds[(2 * j) + 1];
+            long end   = Math.min(endA, endB);
+            if (start < end) {
+                output.add(start, end);
+            }
+            if (endA < endB) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Replaces the contents of {@code output} with the union of the sorted and disjoint lists {@code a} and {@code b},
+     * joining intersecting and touching ranges, in {@code O(n + m)} without allocating unless {@code output} grows.
+     */
+    public static void union(LongRangeList a, LongRangeList b, LongRangeList output) {
+        checkOutput(a, b, output);
+        output.clear();
+        int i = 0;
+        int j = 0;
+        while ((i < a.size) || (j < b.size)) {
+            boolean takeA = (j >= b.size) || ((i < a.size) && (a.bounds[2 * i] <= b.bounds[2 * j]));
+            if (takeA) {
+                output.join(a.bounds[2 * i], a.bounds[(2 * i) + 1]);
+                i++;
+            } else {
+                output.join(b.bounds[2 * j], b.bounds[(2 * j) + 1]);
+                j++;
+            }
+        }
+    }
+
+    private static void checkOutput(LongRangeList a, LongRangeList b, LongRangeList output) {
+        requireNonNull(a, "a");
+        requireNonNull(b, "b");
+        requireNonNull(output, "output");
+        if ((output == a) || (output == b)) {
+            throw new IllegalArgumentException("output must be a different list than the inputs");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * A read-only memory-mapped region of a file which may be larger than 2 GiB.
+ * <p>
+ * The region is mapped as a sequence of chunks. Chunk size is a multiple of {@link Long#BYTES}, so a primitive
+ * element aligned to its own size relative to the start of the region never straddles two chunks.
+ */
+final class MappedRegion {
+    private static final int  CHUNK_BITS = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long               length;
+
+    MappedRegion(FileChannel channel, long offset, long length) throws IOException {
+        if ((offset < 0) || (length < 0) || ((offset + length) > channel.size())) {
+            throw new IOException(String.format("region [%d, %d) is out of the file of size %d",
+                                                offset,
+                                                offset + length,
+                                                channel.size()));
+        }
+        this.length = length;
+        chunks = new MappedByteBuffer[(int) ((length + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+        for (int i = 0; i < chunks.length; i++) {
+            long start = i * CHUNK_SIZE;
+            chunks[i] = channel.map(MapMode.READ_ONLY, offset + start, Math.min(CHUNK_SIZE, length - start));
+        }
+    }
+
+    long length() {
+        return length;
+    }
+
+    int getInt(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getInt((int) (position & CHUNK_MASK));
+    }
+
+    long getLong(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    byte[] getBytes(long position, int count) {
+        byte[] bytes  = new byte[count];
+        int    offset = 0;
+        while (offset < count) {
+            long             current = position + offset;
+            MappedByteBuffer chunk   = chunks[(int) (current >>> CHUNK_BITS)];
+            int              index   = (int) (current & CHUNK_MASK);
+            int              length  = Math.min(count - offset, chunk.limit() - index);
+            ByteBuffer       view    = chunk.duplicate();
+            ((Buffer) view).position(index);
+            view.get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,244 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only {@link Timeline} backed by a memory-mapped file, for timelines too large to keep on the heap.
+ * <p>
+ * Key points and value-set references are stored as fixed-width arrays, so point and range queries binary-search the
+ * mapped file directly. Value-sets and values are decoded lazily on first access and cached, so the heap usage is
+ * proportional to the number of distinct value-sets in use, not to the number of key points. The caches are safely
+ * published, and concurrent first accesses agree on a single cached instance. Opening a file only maps it, regardless
+ * of its size.
+ * <p>
+ * File layout, all numbers big-endian and all sections aligned to 8 bytes:
+ * <pre>
+ * header:      magic, version, key count, value-set count, value count, offsets of the following sections
+ * keys:        long[key count], encoded key points in ascending order
+ * references:  int[key count], value-set index of each key point
+ * value-sets:  long[value-set count + 1] offsets into the value-set data, followed by int[] value indices
+ * values:      long[value count + 1] offsets into the value data, followed by the encoded value bytes
+ * </pre>
+ * <p>
+ * This class is immutable and thread-safe if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class MappedTimeline<C extends Comparable<? super C>, V> extends PackedTimeline<C, V> {
+    static final int MAGIC   = 0x544C4D31; // "TLM1"
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = (2 * Integer.BYTES) + Long.BYTES + (2 * Integer.BYTES) + (7 * Long.BYTES);
+
+    private final ValueCodec<V>                 valueCodec;
+    private final int                           size;
+    private final MappedRegion                  keys;
+    private final MappedRegion                  references;
+    private final MappedRegion                  valueSetOffsets;
+    private final MappedRegion                  valueSetData;
+    private final MappedRegion                  valueOffsets;
+    private final MappedRegion                  valueData;
+    private final AtomicReferenceArray<List<V>> valueSetCache;
+    private final AtomicReferenceArray<V>       valueCache;
+
+    /**
+     * Writes the interval map of the specified {@code segment} to the specified {@code file} in the format read by
+     * {@link #open(Path, TimeAxis, ValueCodec)}, replacing the file if it exists.
+     */
+    public static <C extends Comparable<? super C>, V> void write(TimelineSegment<C, V> segment,
+                                                                  Path file,
+                                                                  TimeAxis<C> timeAxis,
+                                                                  ValueCodec<V> valueCodec) throws IOException {
+        requireNonNull(segment, "segment");
+        requireNonNull(file, "file");
+        requireNonNull(timeAxis, "timeAxis");
+        requireNonNull(valueCodec, "valueCodec");
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            Map<List<V>, Integer> valueSetIds = new HashMap<>();
+            List<List<V>>         valueSets   = new ArrayList<>();
+            Map<V, Integer>       valueIds    = new HashMap<>();
+            List<V>               values      = new ArrayList<>();
+            long[]                offsets     = new long[6];
+            int                   size        = segment.toIntervalMap().size();
+            ByteSink              sink        = new ByteSink(channel);
+
+            sink.writeRawBytes(new byte[HEADER_SIZE]);
+
+            offsets[0] = sink.position();
+            long lastKey = Long.MIN_VALUE;
+            for (C point : segment.toIntervalMap().keySet()) {
+                long key = timeAxis.toLong(point);
+                if ((sink.position() > offsets[0]) && (key <= lastKey)) {
+                    throw new IllegalArgumentException("time axis doesn't preserve order at: " + point);
+                }
+                sink.writeLong(key);
+                lastKey = key;
+            }
+
+            offsets[1] = sink.position();
+            for (List<V> valueSet : segment.toIntervalMap().values()) {
+                Integer id = valueSetIds.get(valueSet);
+                if (id == null) {
+                    id = valueSets.size();
+                    valueSetIds.put(valueSet, id);
+                    valueSets.add(valueSet);
+                }
+                sink.writeInt(id);
+            }
+            pad(sink, Long.BYTES);
+
+            offsets[2] = sink.position();
+            long valueSetOffset = 0;
+            sink.writeLong(valueSetOffset);
+            for (List<V> valueSet : valueSets) {
+                valueSetOffset += valueSet.size();
+                sink.writeLong(valueSetOffset);
+            }
+            offsets[3] = sink.position();
+            for (List<V> valueSet : valueSets) {
+                for (V value : valueSet) {
+                    Integer id = valueIds.get(value);
+                    if (id == null) {
+                        id = values.size();
+                        valueIds.put(value, id);
+                        values.add(value);
+                    }
+                    sink.writeInt(id);
+                }
+            }
+            pad(sink, Long.BYTES);
+
+            List<byte[]> encodedValues = new ArrayList<>(values.size());
+            values.forEach(value -> encodedValues.add(valueCodec.encode(value)));
+            offsets[4] = sink.position();
+            long valueOffset = 0;
+            sink.writeLong(valueOffset);
+            for (byte[] bytes : encodedValues) {
+                valueOffset += bytes.length;
+                sink.writeLong(valueOffset);
+            }
+            offsets[5] = sink.position();
+            for (byte[] bytes : encodedValues) {
+                sink.writeRawBytes(bytes);
+            }
+            long end = sink.position();
+            sink.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(size).putInt(valueSets.size()).putInt(values.size());
+            for (long offset : offsets) {
+                header.putLong(offset);
+            }
+            header.putLong(end);
+            ((Buffer) header).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static void pad(ByteSink sink, int alignment) throws IOException {
+        while ((sink.position() % alignment) != 0) {
+            sink.writeByte(0);
+        }
+    }
+
+    /**
+     * Maps the specified {@code file} written by {@link #write(TimelineSegment, Path, TimeAxis, ValueCodec)}.
+     * The file must not be modified while the returned timeline is in use.
+     */
+    public static <C extends Comparable<? super C>, V> MappedTimeline<C, V> open(Path file,
+                                                                                 TimeAxis<C> timeAxis,
+                                                                                 ValueCodec<V> valueCodec) throws IOException {
+        requireNonNull(file, "file");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedTimeline<>(channel, timeAxis, valueCodec);
+        }
+    }
+
+    private MappedTimeline(FileChannel channel, TimeAxis<C> timeAxis, ValueCodec<V> valueCodec) throws IOException {
+        super(timeAxis);
+        this.valueCodec = requireNonNull(valueCodec, "valueCodec");
+
+        MappedRegion header = new MappedRegion(channel, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(String.format("not a mapped timeline file, unexpected magic: %08x",
+                                                header.getInt(0)));
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("unsupported mapped timeline version: " + header.getInt(4));
+        }
+        long keyCount      = header.getLong(8);
+        int  valueSetCount = header.getInt(16);
+        int  valueCount    = header.getInt(20);
+        if ((keyCount < 0) || (keyCount > Integer.MAX_VALUE) || (valueSetCount < 0) || (valueCount < 0)) {
+            throw new IOException("corrupt mapped timeline header");
+        }
+        long[] offsets = new long[7];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = header.getLong(24 + (i * Long.BYTES));
+        }
+
+        size = (int) keyCount;
+        keys = new MappedRegion(channel, offsets[0], keyCount * Long.BYTES);
+        references = new MappedRegion(channel, offsets[1], keyCount * Integer.BYTES);
+        valueSetOffsets = new MappedRegion(channel, offsets[2], (valueSetCount + 1L) * Long.BYTES);
+        valueSetData = new MappedRegion(channel, offsets[3], offsets[4] - offsets[3]);
+        valueOffsets = new MappedRegion(channel, offsets[4], (valueCount + 1L) * Long.BYTES);
+        valueData = new MappedRegion(channel, offsets[5], offsets[6] - offsets[5]);
+        valueSetCache = new AtomicReferenceArray<>(valueSetCount);
+        valueCache = new AtomicReferenceArray<>(valueCount);
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    long keyAt(int index) {
+        return keys.getLong((long) index * Long.BYTES);
+    }
+
+    @Override
+    List<V> valuesAt(int index) {
+        int     id       = references.getInt((long) index * Integer.BYTES);
+        List<V> valueSet = valueSetCache.get(id);
+        if (valueSet == null) {
+            long     from   = valueSetOffsets.getLong((long) id * Long.BYTES);
+            long     to     = valueSetOffsets.getLong((id + 1L) * Long.BYTES);
+            Object[] values = new Object[(int) (to - from)];
+            for (long i = from; i < to; i++) {
+                values[(int) (i - from)] = valueAt(valueSetData.getInt(i * Integer.BYTES));
+            }
+            valueSetCache.compareAndSet(id, null, ImmutableList.wrap(values, values.length));
+            valueSet = valueSetCache.get(id);
+        }
+        return valueSet;
+    }
+
+    private V valueAt(int id) {
+        V value = valueCache.get(id);
+        if (value == null) {
+            long from = valueOffsets.getLong((long) id * Long.BYTES);
+            long to   = valueOffsets.getLong((id + 1L) * Long.BYTES);
+            valueCache.compareAndSet(id, null, valueCodec.decode(valueData.getBytes(from, (int) (to - from))));
+            value = valueCache.get(id);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Merges value lists of two {@link TimelineSegment}s at a key point, for {@link TimelineSegment#mergeWith}.
+ * <p>
+ * Unlike a {@link BiFunction} returning a new list, a merge function writes its result into an output buffer owned
+ * and reused by the merge loop, or signals that the result is the same as the values of the first segment. So a merge
+ * doesn't need to allocate at key points where nothing changes, or where the result was seen before.
+ *
+ * @param <V> type of the values of the first segment and the result
+ * @param <A> type of the values of the other segment
+ */
+@FunctionalInterface
+public interface MergeFunction<V, A> {
+    /**
+     * Merges {@code values} and {@code others}. Either adds the merged values to the empty {@code output} and returns
+     * {@code true}, or returns {@code false} to signal that the merged values are equal to {@code values}, in which
+     * case {@code output} is ignored.
+     * <p>
+     * The input lists must not be modified, and none of the lists may be retained after the call. The function must
+     * be a pure function of its inputs.
+     */
+    boolean merge(List<V> values, List<A> others, List<V> output);
+
+    /**
+     * Adapts the given {@code function}, which returns a merged list, to a merge function.
+     */
+    static <V, A> MergeFunction<V, A> of(BiFunction<List<V>, List<A>, List<V>> function) {
+        requireNonNull(function, "function");
+        return (values, others, output) -> {
+            output.addAll(function.apply(values, others));
+            return true;
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only {@link Timeline} which keeps its key points and value-set references in direct {@link ByteBuffer}s
+ * outside of the Java heap, so that very large timelines add almost nothing to the work of the garbage collector.
+ * <p>
+ * Only the dictionary of distinct value-sets stays on the heap, and identical value-sets share one instance.
+ * <p>
+ * Instances must be closed when no longer needed. Closing releases the buffers, and any further query throws an
+ * {@link IllegalStateException}. Since JDK 8 offers no public API to free a direct buffer immediately, the native
+ * memory is returned once the released buffers are reclaimed.
+ * <p>
+ * This class is immutable until closed, if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class OffHeapTimeline<C extends Comparable<? super C>, V> extends PackedTimeline<C, V> implements Closeable {
+    private static final int MAX_SIZE = Integer.MAX_VALUE / Long.BYTES;
+
+    private final    int           size;
+    private final    List<List<V>> valueSets;
+    private volatile ByteBuffer    keys;
+    private volatile ByteBuffer    references;
+
+    public static <C extends Comparable<? super C>, V> OffHeapTimeline<C, V> ofIntervals(Collection<ValuedRange<C, V>> intervals,
+                                                                                         TimeAxis<C> timeAxis) {
+        return of(StaticTimeline.ofIntervals(intervals), timeAxis);
+    }
+
+    /**
+     * Copies the interval map of the specified {@code segment} into off-heap buffers.
+     */
+    public static <C extends Comparable<? super C>, V> OffHeapTimeline<C, V> of(TimelineSegment<C, V> segment,
+                                                                                TimeAxis<C> timeAxis) {
+        requireNonNull(segment, "segment");
+        return new OffHeapTimeline<>(segment.toIntervalMap(), timeAxis);
+    }
+
+    private OffHeapTimeline(NavigableMap<C, List<V>> intervalMap, TimeAxis<C> timeAxis) {
+        super(timeAxis);
+        if (intervalMap.size() > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format("too many key points: %d > %d",
+                                                             intervalMap.size(),
+                                                             MAX_SIZE));
+        }
+        size = intervalMap.size();
+        keys = ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder());
+        references = ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder());
+
+        Map<List<V>, Integer> valueSetIds = new HashMap<>();
+        List<List<V>>         valueSets   = new ArrayList<>();
+        int                   index       = 0;
+        long                  lastKey     = Long.MIN_VALUE;
+        for (Entry<C, List<V>> entry : intervalMap.entrySet()) {
+            long key = timeAxis.toLong(entry.getKey());
+            if ((index > 0) && (key <= lastKey)) {
+                throw new IllegalArgumentException("time axis doesn't preserve order at: " + entry.getKey());
+            }
+            Integer id = valueSetIds.get(entry.getValue());
+            if (id == null) {
+                id = valueSets.size();
+                List<V> valueSet = unmodifiableCopyOf(entry.getValue());
+                valueSetIds.put(valueSet, id);
+                valueSets.add(valueSet);
+            }
+            keys.putLong(index * Long.BYTES, key);
+            references.putInt(index * Integer.BYTES, id);
+            lastKey = key;
+            index++;
+        }
+        this.valueSets = unmodifiableList(valueSets);
+    }
+
+    /**
+     * Returns {@code true} if this timeline is not closed yet.
+     */
+    public boolean isOpen() {
+        return keys != null;
+    }
+
+    /**
+     * Releases the off-heap buffers. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        keys = null;
+        references = null;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    long keyAt(int index) {
+        return buffer(keys).getLong(index * Long.BYTES);
+    }
+
+    @Override
+    List<V> valuesAt(int index) {
+        return valueSets.get(buffer(references).getInt(index * Integer.BYTES));
+    }
+
+    private static ByteBuffer buffer(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalStateException("timeline is already closed");
+        }
+        return buffer;
+    }
+}
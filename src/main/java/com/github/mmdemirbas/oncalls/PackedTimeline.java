@@ -0,0 +1,173 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.util.Collections.unmodifiableNavigableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A skeletal read-only {@link Timeline} implementation over an interval map packed into a sorted array of
+ * {@code long} key points and an array of value-set references. Subclasses decide where the arrays live.
+ * <p>
+ * Queries are answered by binary search over the key points. The interval map itself is materialized on the heap
+ * only when {@link #toIntervalMap()} is called, and is not cached.
+ */
+abstract class PackedTimeline<C extends Comparable<? super C>, V> implements Timeline<C, V>, TimelineSegment<C, V> {
+    private final TimeAxis<C> timeAxis;
+
+    PackedTimeline(TimeAxis<C> timeAxis) {
+        this.timeAxis = requireNonNull(timeAxis, "timeAxis");
+    }
+
+    /**
+     * Returns number of key points.
+     */
+    abstract int size();
+
+    /**
+     * Returns the encoded key point at the specified {@code index}.
+     */
+    abstract long keyAt(int index);
+
+    /**
+     * Returns values of the interval starting at the key point with the specified {@code index}.
+     */
+    abstract List<V> valuesAt(int index);
+
+    @Override
+    public TimelineSegment<C, V> toSegment(Range<C> calculationRange) {
+        if (calculationRange == null) {
+            return StaticTimeline.ofIntervalMap(toIntervalMap());
+        }
+        long from = timeAxis.toLong(calculationRange.getStartInclusive());
+        long to   = timeAxis.toLong(calculationRange.getEndExclusive());
+
+        NavigableMap<C, List<V>> map   = new TreeMap<>();
+        int                      first = Math.max(0, floorIndex(from));
+        for (int index = first; (index < size()) && (keyAt(index) < to); index++) {
+            map.put(pointAt(index), valuesAt(index));
+        }
+        return StaticTimeline.ofIntervalMap(map).toSegment(calculationRange);
+    }
+
+    @Override
+    public TimelineSegment<C, V> newSegment(List<ValuedRange<C, V>> intervals) {
+        return StaticTimeline.ofIntervals(intervals);
+    }
+
+    @Override
+    public Set<C> getKeyPoints() {
+        return new AbstractSet<C>() {
+            @Override
+            public Iterator<C> iterator() {
+                return new Iterator<C>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size();
+                    }
+
+                    @Override
+                    public C next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return pointAt(index++);
+                    }
+                };
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                try {
+                    int index = floorIndex(timeAxis.toLong((C) o));
+                    return (index >= 0) && (pointAt(index).compareTo((C) o) == 0);
+                } catch (ClassCastException | NullPointerException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public int size() {
+                return PackedTimeline.this.size();
+            }
+        };
+    }
+
+    @Override
+    public List<V> findCurrentValues(C point) {
+        ValuedRange<C, List<V>> interval = findCurrentInterval(point);
+        return (interval == null) ? null : interval.getValue();
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findCurrentInterval(C point) {
+        return intervalAt(floorIndex(timeAxis.toLong(point)));
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findNextInterval(C point) {
+        return intervalAt(floorIndex(timeAxis.toLong(point)) + 1);
+    }
+
+    @Override
+    public ValuedRange<C, List<V>> findNextNonEmptyInterval(C point) {
+        for (int index = floorIndex(timeAxis.toLong(point)) + 1; index < (size() - 1); index++) {
+            List<V> values = valuesAt(index);
+            if (!values.isEmpty()) {
+                return intervalAt(index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Materializes the packed interval map on the heap, which costs {@code O(n log n)} time and {@code O(n)} heap for
+     * {@code n} key points on each call. The result is not cached, since keeping it would defeat keeping the arrays
+     * off the heap, so callers needing it repeatedly should keep it themselves.
+     */
+    @Override
+    public NavigableMap<C, List<V>> toIntervalMap() {
+        NavigableMap<C, List<V>> map = new TreeMap<>();
+        for (int index = 0; index < size(); index++) {
+            map.put(pointAt(index), valuesAt(index));
+        }
+        return unmodifiableNavigableMap(map);
+    }
+
+    private ValuedRange<C, List<V>> intervalAt(int index) {
+        if ((index < 0) || (index >= (size() - 1))) {
+            return null;
+        }
+        return ValuedRange.of(Range.of(pointAt(index), pointAt(index + 1)), valuesAt(index));
+    }
+
+    private C pointAt(int index) {
+        return timeAxis.fromLong(keyAt(index));
+    }
+
+    /**
+     * Returns index of the greatest key point less than or equal to the specified {@code key}, or {@code -1}.
+     */
+    final int floorIndex(long key) {
+        int low  = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+}
@@ -0,0 +1,246 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.github.mmdemirbas.oncalls.Utils.orEmpty;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Merges two {@link TimelineSegment}s on a {@link ForkJoinPool} by partitioning their combined key points into time
+ * slices, for {@link TimelineSegment#mergeWithInParallel}.
+ * <p>
+ * Each slice is merged independently into runs of the same merged values. Runs of adjacent slices are stitched while
+ * joining the subtasks, and the runs touching a seam are coalesced if they have the same values. The stitched runs are
+ * already sorted, disjoint and coalesced, so they form the merged interval map as is, without rebuilding intervals.
+ * So the result has the same intervals as of the sequential
+ * {@link TimelineSegment#mergeWith(TimelineSegment, MergeFunction)}, but value lists are the ones produced by the
+ * merge function, which may list values in a different order than the sequential merge does after rebuilding the
+ * merged intervals.
+ */
+final class ParallelMerge<C extends Comparable<? super C>, V, A> {
+    /**
+     * Minimum number of key points per slice, below which forking costs more than merging.
+     */
+    static final int MIN_SLICE_SIZE = 1024;
+
+    private final TimelineSegment<C, V> first;
+    private final TimelineSegment<C, A> second;
+    private final MergeFunction<V, A>   mergeFunction;
+    private final List<C>               points;
+    private final int                   sliceSize;
+
+    private ParallelMerge(TimelineSegment<C, V> first,
+                          TimelineSegment<C, A> second,
+                          MergeFunction<V, A> mergeFunction,
+                          List<C> points,
+                          int sliceSize) {
+        this.first = first;
+        this.second = second;
+        this.mergeFunction = mergeFunction;
+        this.points = points;
+        this.sliceSize = sliceSize;
+    }
+
+    static <C extends Comparable<? super C>, V, A> TimelineSegment<C, V> merge(TimelineSegment<C, V> first,
+                                                                               TimelineSegment<C, A> second,
+                                                                               MergeFunction<V, A> mergeFunction,
+                                                                               ForkJoinPool pool) {
+        requireNonNull(second, "segment");
+        requireNonNull(mergeFunction, "mergeFunction");
+        requireNonNull(pool, "pool");
+
+        List<C> points = mergeSorted(sortedKeysOf(first), sortedKeysOf(second));
+        if (points.size() < (2 * MIN_SLICE_SIZE)) {
+            return first.mergeWith(second, mergeFunction);
+        }
+
+        int     slices    = 4 * pool.getParallelism();
+        int     sliceSize = Math.max(MIN_SLICE_SIZE, (points.size() + slices - 1) / slices);
+
+        ParallelMerge<C, V, A> merge = new ParallelMerge<>(first, second, mergeFunction, points, sliceSize);
+        List<Run<C, V>>        runs  = pool.invoke(merge.new SliceTask(0, points.size()));
+
+        return StaticTimeline.ofIntervalMap(toIntervalMap(runs));
+    }
+
+    /**
+     * Returns the interval map of the given stitched runs, which starts with the first non-empty run and ends with an
+     * empty list at the end of the last non-empty run. Values are interned again, since each slice has its own
+     * dictionary.
+     */
+    private static <C extends Comparable<? super C>, V> NavigableMap<C, List<V>> toIntervalMap(List<Run<C, V>> runs) {
+        NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+        ValueSetDictionary<V>    dictionary  = new ValueSetDictionary<>();
+        C                        end         = null;
+        for (Run<C, V> run : runs) {
+            if (!run.values.isEmpty()) {
+                intervalMap.put(run.start, dictionary.intern(run.values));
+                end = run.end;
+            } else if (!intervalMap.isEmpty()) {
+                intervalMap.put(run.start, emptyList());
+            }
+        }
+        if (end != null) {
+            intervalMap.tailMap(end, true).clear();
+            intervalMap.put(end, emptyList());
+        }
+        return intervalMap;
+    }
+
+    private static <C extends Comparable<? super C>> Iterable<C> sortedKeysOf(TimelineSegment<C, ?> segment) {
+        Set<C> keys = segment.getKeyPoints();
+        return (keys instanceof SortedSet) ? keys : new TreeSet<>(keys);
+    }
+
+    /**
+     * Merges the given ascending sequences of points into an ascending list without duplicates in linear time.
+     */
+    private static <C extends Comparable<? super C>> List<C> mergeSorted(Iterable<C> xs, Iterable<C> ys) {
+        List<C>     merged = new ArrayList<>();
+        Iterator<C> i      = xs.iterator();
+        Iterator<C> j      = ys.iterator();
+        C           x      = i.hasNext() ? i.next() : null;
+        C           y      = j.hasNext() ? j.next() : null;
+        while ((x != null) || (y != null)) {
+            int order = (x == null) ? 1 : ((y == null) ? -1 : x.compareTo(y));
+            if (order <= 0) {
+                merged.add(x);
+                x = i.hasNext() ? i.next() : null;
+                if (order == 0) {
+                    y = j.hasNext() ? j.next() : null;
+                }
+            } else {
+                merged.add(y);
+                y = j.hasNext() ? j.next() : null;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Merges the key points in the index range {@code [from, to)} sequentially into runs, the last of which ends at
+     * the key point following the slice, or at the last key point.
+     */
+    private List<Run<C, V>> mergeSlice(int from, int to) {
+        List<Run<C, V>>       runs       = new ArrayList<>();
+        ValueSetDictionary<V> dictionary = new ValueSetDictionary<>();
+        List<V>               buffer     = new ArrayList<>();
+        List<V>               lastMine   = null;
+        List<A>               lastTheirs = null;
+        Run<C, V>             current    = null;
+
+        for (int i = from; i < to; i++) {
+            C       point       = points.get(i);
+            List<V> myValues    = orEmpty(first.findCurrentValues(point));
+            List<A> theirValues = orEmpty(second.findCurrentValues(point));
+            if ((myValues == lastMine) && (theirValues == lastTheirs)) {
+                continue;
+            }
+            lastMine = myValues;
+            lastTheirs = theirValues;
+
+            buffer.clear();
+            boolean changed      = mergeFunction.merge(myValues, theirValues, buffer);
+            List<V> mergedValues = dictionary.intern(changed ? buffer : myValues);
+            if ((current == null) || !haveSameValues(current.values, mergedValues)) {
+                if (current != null) {
+                    current.end = point;
+                }
+                current = new Run<>(point, mergedValues);
+                runs.add(current);
+            }
+        }
+        current.end = points.get(Math.min(to, points.size() - 1));
+        return runs;
+    }
+
+    /**
+     * Appends the {@code right} runs to the {@code left} runs, coalescing the runs meeting at the seam if they have the
+     * same values.
+     */
+    private static <C extends Comparable<? super C>, V> List<Run<C, V>> stitch(List<Run<C, V>> left,
+                                                                               List<Run<C, V>> right) {
+        Run<C, V> last  = left.get(left.size() - 1);
+        Run<C, V> first = right.get(0);
+        int       skip  = 0;
+        if (haveSameValues(last.values, first.values)) {
+            last.end = first.end;
+            skip = 1;
+        }
+        left.addAll(right.subList(skip, right.size()));
+        return left;
+    }
+
+    /**
+     * Returns {@code true} if the given value lists contain the same values as many times, ignoring their order. Merge
+     * functions may list the same values in a different order at adjacent points, which the sequential merge doesn't
+     * split either.
+     */
+    static <V> boolean haveSameValues(List<V> x, List<V> y) {
+        if (x == y) {
+            return true;
+        }
+        if (x.size() != y.size()) {
+            return false;
+        }
+        if (x.equals(y)) {
+            return true;
+        }
+        Map<V, Integer> counts = new HashMap<>();
+        x.forEach(value -> counts.merge(value, 1, Integer::sum));
+        for (V value : y) {
+            if (counts.merge(value, -1, Integer::sum) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class SliceTask extends RecursiveTask<List<Run<C, V>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        SliceTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Run<C, V>> compute() {
+            if ((to - from) <= sliceSize) {
+                return mergeSlice(from, to);
+            }
+            int       middle = (from + to) >>> 1;
+            SliceTask left   = new SliceTask(from, middle);
+            SliceTask right  = new SliceTask(middle, to);
+            right.fork();
+            List<Run<C, V>> leftRuns = left.compute();
+            return stitch(leftRuns, right.join());
+        }
+    }
+
+    private static final class Run<C, V> {
+        private final C       start;
+        private final List<V> values;
+        private       C       end;
+
+        Run(C start, List<V> values) {
+            this.start = start;
+            this.values = values;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.mmdemirbas.oncalls;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.UnaryOperator;
 
@@ -10,6 +9,8 @@ import static java.util.Objects.requireNonNull;
 /**
  * A {@link Timeline} implementation which applies patches on top of a base timeline.
  * <p>
+ * Patches may modify and return the list they receive, but must not retain it, since the list is reused.
+ * <p>
  * This class is immutable, if the generic types {@link C} and {@link V} are immutable.
  */
 public final class PatchedTimeline<C extends Comparable<? super C>, V> implements Timeline<C, V> {
@@ -28,12 +29,35 @@ public final class PatchedTimeline<C extends Comparable<? super C>, V> implement
 
     @Override
     public TimelineSegment<C, V> toSegment(Range<C> calculationRange) {
-        return baseTimeline.mergeWith(patchTimelines, calculationRange, (values, patches) -> {
-            List<V> result = new ArrayList<>(values);
-            for (UnaryOperator<List<V>> patch : patches) {
-                result = patch.apply(result);
+        return baseTimeline.mergeWith(patchTimelines, calculationRange, PatchedTimeline::applyPatches);
+    }
+
+    private static <V> boolean applyPatches(List<V> values, List<UnaryOperator<List<V>>> patches, List<V> output) {
+        if (patches.isEmpty()) {
+            return false;
+        }
+        // roster sets are immutable, but roster patches handle them without copying
+        List<V> result = values;
+        if (!(values instanceof RosterSet) || !areRosterPatches(patches)) {
+            output.addAll(values);
+            result = output;
+        }
+        for (UnaryOperator<List<V>> patch : patches) {
+            result = patch.apply(result);
+        }
+        if (result != output) {
+            output.clear();
+            output.addAll(result);
+        }
+        return true;
+    }
+
+    private static <V> boolean areRosterPatches(List<UnaryOperator<List<V>>> patches) {
+        for (UnaryOperator<List<V>> patch : patches) {
+            if (!(patch instanceof Roster.Patch)) {
+                return false;
             }
-            return result;
-        });
+        }
+        return true;
     }
 }
\ No newline at end of file
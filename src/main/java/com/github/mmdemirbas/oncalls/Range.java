@@ -3,6 +3,7 @@ package com.github.mmdemirbas.oncalls;
 import lombok.Value;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -11,7 +12,6 @@ import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
-import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -29,6 +29,8 @@ import static java.util.Objects.requireNonNull;
  */
 @Value
 public final class Range<C extends Comparable<? super C>> {
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
     private final C startInclusive;
     private final C endExclusive;
 
@@ -76,12 +78,18 @@ public final class Range<C extends Comparable<? super C>> {
         return new Range<>(finalS, end);
     }
 
-    private static <C extends Comparable<? super C>> C maxOf(C x, C y) {
-        return (x.compareTo(y) > 0) ? x : y;
+    /**
+     * Returns the greater of the given points, or the other one if one of them is {@code null}.
+     */
+    static <C extends Comparable<? super C>> C maxOf(C x, C y) {
+        return (x == null) ? y : ((y == null) || (x.compareTo(y) > 0)) ? x : y;
     }
 
-    private static <C extends Comparable<? super C>> C minOf(C x, C y) {
-        return (x.compareTo(y) < 0) ? x : y;
+    /**
+     * Returns the lesser of the given points, or the other one if one of them is {@code null}.
+     */
+    static <C extends Comparable<? super C>> C minOf(C x, C y) {
+        return (x == null) ? y : ((y == null) || (x.compareTo(y) < 0)) ? x : y;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -89,6 +97,8 @@ public final class Range<C extends Comparable<? super C>> {
     /**
      * Returns a sorted list of unique disjoint ranges by joining intersecting, overlapping and successive ranges.
      * Empty ranges will not appear in the result set.
+     * <p>
+     * Input which is already sorted by start points is swept as is, without copying and sorting.
      */
     public static <C extends Comparable<? super C>> List<Range<C>> toDisjointRanges(Collection<Range<C>> ranges) {
         return toDisjointRanges(ranges,
@@ -110,10 +120,7 @@ public final class Range<C extends Comparable<? super C>> {
         C       end            = null;
         R       joiningItem    = null;
 
-        List<R> sorted = new ArrayList<>(items);
-        sorted.sort(Comparator.comparing(r -> getRange.apply(r).startInclusive));
-
-        for (R item : sorted) {
+        for (R item : sortedByStart(items, getRange)) {
             Range<C> range    = getRange.apply(item);
             C        newStart = range.startInclusive;
             C        newEnd   = range.endExclusive;
@@ -128,7 +135,66 @@ public final class Range<C extends Comparable<? super C>> {
             }
         }
         addRange(disjointRanges, start, end, create, joiningItem);
-        return unmodifiableList(disjointRanges);
+        return ImmutableList.copyOf(disjointRanges);
+    }
+
+    /**
+     * Returns the given items ordered by their start points, which is the given collection itself if it is already
+     * sorted.
+     */
+    static <C extends Comparable<? super C>, R> Iterable<? extends R> sortedByStart(Collection<? extends R> items,
+                                                                                   Function<? super R, Range<C>> getRange) {
+        return isSortedByStart(items, getRange) ? items : sortByStart(items, getRange);
+    }
+
+    private static <C extends Comparable<? super C>, R> boolean isSortedByStart(Iterable<? extends R> items,
+                                                                                Function<? super R, Range<C>> getRange) {
+        C previous = null;
+        for (R item : items) {
+            C start = getRange.apply(item).startInclusive;
+            if ((previous != null) && (previous.compareTo(start) > 0)) {
+                return false;
+            }
+            previous = start;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the given items stably sorted by their start points. Start points are extracted once per item instead of
+     * once per comparison, and large inputs are sorted in parallel.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <C extends Comparable<? super C>, R> List<R> sortByStart(Collection<? extends R> items,
+                                                                            Function<? super R, Range<C>> getRange) {
+        SortEntry<C, R>[] entries = new SortEntry[items.size()];
+        int               index   = 0;
+        for (R item : items) {
+            entries[index++] = new SortEntry<>(getRange.apply(item).startInclusive, item);
+        }
+
+        Comparator<SortEntry<C, R>> comparator = (x, y) -> x.start.compareTo(y.start);
+        if (entries.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(entries, comparator);
+        } else {
+            Arrays.sort(entries, comparator);
+        }
+
+        List<R> sorted = new ArrayList<>(entries.length);
+        for (SortEntry<C, R> entry : entries) {
+            sorted.add(entry.item);
+        }
+        return sorted;
+    }
+
+    private static final class SortEntry<C, R> {
+        private final C start;
+        private final R item;
+
+        SortEntry(C start, R item) {
+            this.start = start;
+            this.item = item;
+        }
     }
 
     private static <R, C extends Comparable<? super C>> void addRange(Collection<? super R> output,
@@ -0,0 +1,237 @@
+package com.github.mmdemirbas.oncalls;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.github.mmdemirbas.oncalls.Range.maxOf;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a set of points as sorted and disjoint {@link Range}s, where intersecting and successive ranges are
+ * joined and empty ranges are dropped.
+ * <p>
+ * Set operations merge the sorted ranges of both sides in {@code O(n + m)}. {@link #intersect(RangeSet)} and
+ * {@link #difference(RangeSet)} search the other side by galloping, so that they take {@code O(n log(m / n))} when
+ * the other side is much larger, such as subtracting a few holidays from working hours of many years.
+ * <p>
+ * This class is immutable if the generic type {@link C} is immutable.
+ *
+ * @param <C> type of the {@link Comparable} values
+ */
+@Value
+public final class RangeSet<C extends Comparable<? super C>> {
+    private static final RangeSet<?> EMPTY = new RangeSet<>(emptyList());
+
+    private final List<Range<C>> ranges;
+
+    @SuppressWarnings("unchecked")
+    public static <C extends Comparable<? super C>> RangeSet<C> empty() {
+        return (RangeSet<C>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <C extends Comparable<? super C>> RangeSet<C> of(Range<C>... ranges) {
+        return of(asList(ranges));
+    }
+
+    public static <C extends Comparable<? super C>> RangeSet<C> of(Collection<Range<C>> ranges) {
+        return new RangeSet<>(Range.toDisjointRanges(ranges));
+    }
+
+    /**
+     * Returns a set of the ranges of the given {@code iteration}, which are already sorted and disjoint.
+     */
+    public static <C extends Comparable<? super C>> RangeSet<C> of(Iteration<C> iteration) {
+        requireNonNull(iteration, "iteration");
+        return new RangeSet<>(iteration.getRanges());
+    }
+
+    /**
+     * Returns a set of the ranges where the given {@code segment} has at least one value.
+     */
+    public static <C extends Comparable<? super C>> RangeSet<C> ofCovered(TimelineSegment<C, ?> segment) {
+        requireNonNull(segment, "segment");
+        List<Range<C>> ranges = new ArrayList<>();
+        C              start  = null;
+        for (Entry<C, ? extends List<?>> entry : segment.toIntervalMap().entrySet()) {
+            boolean covered = !entry.getValue().isEmpty();
+            if (covered && (start == null)) {
+                start = entry.getKey();
+            } else if (!covered && (start != null)) {
+                ranges.add(Range.of(start, entry.getKey()));
+                start = null;
+            }
+        }
+        return new RangeSet<>(ranges);
+    }
+
+    /**
+     * Returns a set of the ranges where the given {@code segment} contains the given {@code value}.
+     */
+    public static <C extends Comparable<? super C>, V> RangeSet<C> ofValue(TimelineSegment<C, V> segment, V value) {
+        requireNonNull(segment, "segment");
+        return new RangeSet<>(ReverseIndex.of(segment).getRanges(value));
+    }
+
+    private RangeSet(List<Range<C>> ranges) {
+        this.ranges = ImmutableList.copyOf(ranges);
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public boolean contains(C point) {
+        requireNonNull(point, "point");
+        int index = gallop(ranges, 0, point);
+        return (index < ranges.size()) && (ranges.get(index).getStartInclusive().compareTo(point) <= 0);
+    }
+
+    /**
+     * Returns an {@link Iteration} of the given {@code duration} consisting of the ranges of this set.
+     */
+    public Iteration<C> toIteration(C duration) {
+        return Iteration.of(duration, ranges);
+    }
+
+    /**
+     * Returns a timeline associating the ranges of this set with the given {@code value}. The interval map is built
+     * directly from the ranges without sorting.
+     */
+    public <V> StaticTimeline<C, V> toTimeline(V value) {
+        NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+        List<V>                  values      = singletonList(value);
+        for (Range<C> range : ranges) {
+            intervalMap.put(range.getStartInclusive(), values);
+            intervalMap.put(range.getEndExclusive(), emptyList());
+        }
+        return StaticTimeline.ofIntervalMap(intervalMap);
+    }
+
+    public RangeSet<C> union(RangeSet<C> other) {
+        requireNonNull(other, "other");
+        List<Range<C>> a      = ranges;
+        List<Range<C>> b      = other.ranges;
+        List<Range<C>> output = new ArrayList<>(a.size() + b.size());
+        C              start  = null;
+        C              end    = null;
+        int            i      = 0;
+        int            j      = 0;
+        while ((i < a.size()) || (j < b.size())) {
+            boolean  takeA = (j >= b.size())
+                             || ((i < a.size())
+                                 && (a.get(i).getStartInclusive().compareTo(b.get(j).getStartInclusive()) <= 0));
+            Range<C> range = takeA ? a.get(i++) : b.get(j++);
+            if ((end != null) && (range.getStartInclusive().compareTo(end) <= 0)) {
+                end = maxOf(end, range.getEndExclusive());
+            } else {
+                if (end != null) {
+                    output.add(Range.of(start, end));
+                }
+                start = range.getStartInclusive();
+                end = range.getEndExclusive();
+            }
+        }
+        if (end != null) {
+            output.add(Range.of(start, end));
+        }
+        return new RangeSet<>(output);
+    }
+
+    public RangeSet<C> intersect(RangeSet<C> other) {
+        requireNonNull(other, "other");
+        boolean        thisSmaller = ranges.size() <= other.ranges.size();
+        List<Range<C>> small       = thisSmaller ? ranges : other.ranges;
+        List<Range<C>> large       = thisSmaller ? other.ranges : ranges;
+        List<Range<C>> output      = new ArrayList<>();
+        int            position    = 0;
+        for (Range<C> range : small) {
+            position = gallop(large, position, range.getStartInclusive());
+            for (int k = position;
+                 (k < large.size()) && (large.get(k).getStartInclusive().compareTo(range.getEndExclusive()) < 0);
+                 k++) {
+                Range<C> intersection = range.intersect(large.get(k));
+                if (!intersection.isEmpty()) {
+                    output.add(intersection);
+                }
+            }
+        }
+        return new RangeSet<>(output);
+    }
+
+    /**
+     * Returns a set of the points in this set, but not in the {@code other} set.
+     */
+    public RangeSet<C> difference(RangeSet<C> other) {
+        requireNonNull(other, "other");
+        List<Range<C>> subtrahend = other.ranges;
+        List<Range<C>> output     = new ArrayList<>();
+        int            position   = 0;
+        for (Range<C> range : ranges) {
+            C current = range.getStartInclusive();
+            C end     = range.getEndExclusive();
+            position = gallop(subtrahend, position, current);
+            for (int k = position;
+                 (k < subtrahend.size()) && (subtrahend.get(k).getStartInclusive().compareTo(end) < 0);
+                 k++) {
+                Range<C> hole = subtrahend.get(k);
+                if (current.compareTo(hole.getStartInclusive()) < 0) {
+                    output.add(Range.of(current, hole.getStartInclusive()));
+                }
+                current = maxOf(current, hole.getEndExclusive());
+            }
+            if (current.compareTo(end) < 0) {
+                output.add(Range.of(current, end));
+            }
+        }
+        return new RangeSet<>(output);
+    }
+
+    /**
+     * Returns a set of the points in the given {@code bound}, but not in this set.
+     */
+    public RangeSet<C> complement(Range<C> bound) {
+        requireNonNull(bound, "bound");
+        return of(bound).difference(this);
+    }
+
+    /**
+     * Returns index of the first range ending after the given {@code point}, starting from the index {@code from}, by
+     * an exponential search followed by a binary search, so that the cost is logarithmic in the distance from
+     * {@code from}.
+     */
+    static <C extends Comparable<? super C>> int gallop(List<Range<C>> ranges, int from, C point) {
+        int size = ranges.size();
+        if ((from >= size) || (ranges.get(from).getEndExclusive().compareTo(point) > 0)) {
+            return from;
+        }
+        int low  = from;
+        int high = from + 1;
+        int step = 1;
+        while ((high < size) && (ranges.get(high).getEndExclusive().compareTo(point) <= 0)) {
+            low = high;
+            step <<= 1;
+            high = (int) Math.min(size, (long) from + step);
+        }
+        high = Math.min(high, size);
+        low++;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ranges.get(mid).getEndExclusive().compareTo(point) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
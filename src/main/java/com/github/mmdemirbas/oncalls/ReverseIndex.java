@@ -0,0 +1,147 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An inverted index of a {@link TimelineSegment} which maps each value to the sorted list of disjoint {@link Range}s
+ * during which the value is associated.
+ * <p>
+ * Per-value queries are answered by binary search in {@code O(log n)} where {@code n} is the number of ranges of the
+ * queried value.
+ * <p>
+ * This class is immutable if the generic types {@link C} and {@link V} are immutable.
+ */
+public final class ReverseIndex<C extends Comparable<? super C>, V> {
+    private final Map<V, List<Range<C>>> rangesByValue;
+
+    /**
+     * Builds a reverse index of the given {@code segment} in one pass over its interval map.
+     */
+    public static <C extends Comparable<? super C>, V> ReverseIndex<C, V> of(TimelineSegment<C, V> segment) {
+        requireNonNull(segment, "segment");
+        return new ReverseIndex<>(index(segment.toIntervalMap()));
+    }
+
+    private ReverseIndex(Map<V, List<Range<C>>> rangesByValue) {
+        this.rangesByValue = unmodifiableMap(rangesByValue);
+    }
+
+    private static <C extends Comparable<? super C>, V> Map<V, List<Range<C>>> index(NavigableMap<C, List<V>> intervalMap) {
+        Map<V, List<Range<C>>> rangesByValue = new LinkedHashMap<>();
+        Map<V, C>              openStarts    = new LinkedHashMap<>();
+
+        for (Entry<C, List<V>> entry : intervalMap.entrySet()) {
+            C       point   = entry.getKey();
+            List<V> values  = entry.getValue();
+            Set<V>  current = new HashSet<>(values);
+
+            Iterator<Entry<V, C>> iterator = openStarts.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<V, C> open = iterator.next();
+                if (!current.contains(open.getKey())) {
+                    rangesByValue.computeIfAbsent(open.getKey(), x -> new ArrayList<>())
+                                 .add(Range.of(open.getValue(), point));
+                    iterator.remove();
+                }
+            }
+            values.forEach(value -> openStarts.putIfAbsent(value, point));
+        }
+
+        rangesByValue.replaceAll((value, ranges) -> ImmutableList.copyOf(ranges));
+        return rangesByValue;
+    }
+
+    /**
+     * Returns all values having at least one non-empty range.
+     */
+    public Set<V> getValues() {
+        return rangesByValue.keySet();
+    }
+
+    /**
+     * Returns the sorted list of disjoint ranges associated with the specified {@code value}.
+     */
+    public List<Range<C>> getRanges(V value) {
+        return rangesByValue.getOrDefault(value, emptyList());
+    }
+
+    /**
+     * Returns the range of the specified {@code value} containing the specified {@code point},
+     * or {@code null} if the value is not associated at that point.
+     */
+    public Range<C> findCurrentRange(V value, C point) {
+        requireNonNull(point, "point");
+        List<Range<C>> ranges = getRanges(value);
+        int            index  = firstEndingAfter(ranges, point);
+        if (index < ranges.size()) {
+            Range<C> range = ranges.get(index);
+            if (range.getStartInclusive().compareTo(point) <= 0) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first range of the specified {@code value} starting after the specified {@code point},
+     * or {@code null} if there is no such range.
+     */
+    public Range<C> findNextRange(V value, C point) {
+        requireNonNull(point, "point");
+        List<Range<C>> ranges = getRanges(value);
+        int            index  = firstIndexOf(ranges, range -> range.getStartInclusive().compareTo(point) > 0);
+        return (index < ranges.size()) ? ranges.get(index) : null;
+    }
+
+    /**
+     * Returns the ranges of the specified {@code value} intersecting with the specified {@code range}.
+     * <p>
+     * Returned ranges are not clipped to the boundaries of the queried {@code range}.
+     */
+    public List<Range<C>> findRanges(V value, Range<C> range) {
+        requireNonNull(range, "range");
+        List<Range<C>> ranges = getRanges(value);
+        if (range.isEmpty()) {
+            return emptyList();
+        }
+        C   end  = range.getEndExclusive();
+        int from = firstEndingAfter(ranges, range.getStartInclusive());
+        int to   = firstIndexOf(ranges, it -> it.getStartInclusive().compareTo(end) >= 0);
+        return ranges.subList(from, Math.max(from, to));
+    }
+
+    static <C extends Comparable<? super C>> int firstEndingAfter(List<Range<C>> ranges, C point) {
+        return firstIndexOf(ranges, range -> range.getEndExclusive().compareTo(point) > 0);
+    }
+
+    /**
+     * Returns index of the first range satisfying the given {@code predicate} which must be monotonic on the
+     * sorted {@code ranges}, or size of the list if no range satisfies.
+     */
+    static <C extends Comparable<? super C>> int firstIndexOf(List<Range<C>> ranges, Predicate<Range<C>> predicate) {
+        int low  = 0;
+        int high = ranges.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(ranges.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
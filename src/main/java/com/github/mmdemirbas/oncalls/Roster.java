@@ -0,0 +1,168 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A fixed registry of the values which can appear in a schedule, such as the people on call, assigning each value a
+ * dense integer index.
+ * <p>
+ * Value lists of a timeline can be encoded as {@link RosterSet}s of a roster by {@link #encode(TimelineSegment)}.
+ * The merge functions returned by {@link #union()}, {@link #adding(Collection)}, {@link #removing(Collection)} and
+ * {@link #overriding(Collection)} then combine value lists as bitsets instead of copying and searching lists. Unlike
+ * list-based merges, results are ordered by roster indices rather than by the order values were added.
+ * <p>
+ * The encoding lasts for a single merge step: segments returned by {@link TimelineSegment#mergeWith} and
+ * {@link PatchedTimeline} rebuild their value lists as plain lists. So encode such a segment again before chaining
+ * further merges, if they should combine bitsets as well.
+ * <p>
+ * This class is immutable if the generic type {@link V} is immutable.
+ *
+ * @param <V> type of the values
+ */
+public final class Roster<V> {
+    private final List<V>         members;
+    private final Map<V, Integer> indices;
+    private final RosterSet<V>    emptySet;
+
+    /**
+     * Creates a roster of the given distinct {@code members}, indexed in the given order.
+     *
+     * @throws IllegalArgumentException if a member occurs more than once
+     */
+    public static <V> Roster<V> of(Collection<? extends V> members) {
+        return new Roster<>(members);
+    }
+
+    private Roster(Collection<? extends V> members) {
+        requireNonNull(members, "members");
+        this.members = ImmutableList.copyOf(members);
+        this.indices = new HashMap<>();
+        for (V member : this.members) {
+            if (indices.put(member, indices.size()) != null) {
+                throw new IllegalArgumentException("duplicate member: " + member);
+            }
+        }
+        this.emptySet = RosterSet.ofIndices(this, new int[0], 0);
+    }
+
+    public List<V> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public V get(int index) {
+        return members.get(index);
+    }
+
+    /**
+     * Returns index of the given {@code value} in this roster, or {@code -1} if it is not a member.
+     */
+    public int indexOf(Object value) {
+        Integer index = indices.get(value);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Returns a set of the given {@code values}, which is the given collection itself if it is already a set of this
+     * roster. Duplicate values are ignored.
+     *
+     * @throws IllegalArgumentException if a value is not a member of this roster
+     */
+    public RosterSet<V> setOf(Collection<? extends V> values) {
+        requireNonNull(values, "values");
+        if ((values instanceof RosterSet) && (((RosterSet<?>) values).getRoster() == this)) {
+            @SuppressWarnings("unchecked") RosterSet<V> set = (RosterSet<V>) values;
+            return set;
+        }
+        if (values.isEmpty()) {
+            return emptySet;
+        }
+        int[] valueIndices = new int[values.size()];
+        int   count        = 0;
+        for (V value : values) {
+            int index = indexOf(value);
+            if (index < 0) {
+                throw new IllegalArgumentException("not a member of the roster: " + value);
+            }
+            valueIndices[count++] = index;
+        }
+        Arrays.sort(valueIndices);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if ((distinct == 0) || (valueIndices[distinct - 1] != valueIndices[i])) {
+                valueIndices[distinct++] = valueIndices[i];
+            }
+        }
+        return RosterSet.ofIndices(this, valueIndices, distinct);
+    }
+
+    /**
+     * Returns a merge function for {@link TimelineSegment#mergeWith} which unites the value lists of both sides.
+     */
+    public BiFunction<List<V>, List<V>, List<V>> union() {
+        return (values, others) -> setOf(values).union(setOf(others));
+    }
+
+    /**
+     * Returns a patch for {@link PatchedTimeline} which adds the given {@code values} to the existing ones.
+     */
+    public UnaryOperator<List<V>> adding(Collection<? extends V> values) {
+        RosterSet<V> set = setOf(values);
+        return (Patch<V>) existing -> setOf(existing).union(set);
+    }
+
+    /**
+     * Returns a patch for {@link PatchedTimeline} which removes the given {@code values} from the existing ones.
+     */
+    public UnaryOperator<List<V>> removing(Collection<? extends V> values) {
+        RosterSet<V> set = setOf(values);
+        return (Patch<V>) existing -> setOf(existing).minus(set);
+    }
+
+    /**
+     * Returns a patch for {@link PatchedTimeline} which replaces the existing values with the given {@code values}.
+     */
+    public UnaryOperator<List<V>> overriding(Collection<? extends V> values) {
+        RosterSet<V> set = setOf(values);
+        return (Patch<V>) existing -> set;
+    }
+
+    /**
+     * Returns a timeline with the intervals of the given {@code segment}, where each non-empty value list is encoded as
+     * a {@link RosterSet}. Identical value list instances share one encoded set.
+     *
+     * @throws IllegalArgumentException if a value is not a member of this roster
+     */
+    public <C extends Comparable<? super C>> StaticTimeline<C, V> encode(TimelineSegment<C, V> segment) {
+        requireNonNull(segment, "segment");
+        NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+        Map<List<V>, List<V>>    encoded     = new IdentityHashMap<>();
+        for (Entry<C, List<V>> entry : segment.toIntervalMap().entrySet()) {
+            List<V> values = entry.getValue();
+            intervalMap.put(entry.getKey(), values.isEmpty() ? values : encoded.computeIfAbsent(values, this::setOf));
+        }
+        return StaticTimeline.ofIntervalMap(intervalMap);
+    }
+
+    /**
+     * Marker of the patches of a roster, which never modify the list they receive. So {@link PatchedTimeline} can pass
+     * them {@link RosterSet}s without copying.
+     */
+    interface Patch<V> extends UnaryOperator<List<V>> {
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable set of members of a {@link Roster}, exposed as a {@link List} view ordered by roster indices.
+ * <p>
+ * Like a roaring bitmap container, a set is stored either as a sorted array of member indices when it is sparse
+ * compared to the roster, or as a bitset of one bit per roster member otherwise. {@link #union(RosterSet)} and
+ * {@link #minus(RosterSet)} merge sorted arrays or combine bitsets word by word, without hashing values.
+ * <p>
+ * This class is immutable if the generic type {@link V} is immutable.
+ *
+ * @param <V> type of the values
+ */
+public final class RosterSet<V> extends AbstractList<V> implements RandomAccess {
+    private final    Roster<V> roster;
+    private final    int[]     indices;
+    private final    long[]    words;
+    private final    int       size;
+    private volatile int[]     members;
+    private          int       hash;
+
+    private RosterSet(Roster<V> roster, int[] indices, long[] words, int size) {
+        this.roster = roster;
+        this.indices = indices;
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Creates a set from the given sorted and distinct member {@code indices}, choosing the compact representation.
+     */
+    static <V> RosterSet<V> ofIndices(Roster<V> roster, int[] indices, int size) {
+        if (size < arrayLimit(roster)) {
+            return new RosterSet<>(roster, Arrays.copyOf(indices, size), null, size);
+        }
+        long[] words = new long[wordCount(roster)];
+        for (int i = 0; i < size; i++) {
+            words[indices[i] >>> 6] |= 1L << indices[i];
+        }
+        return new RosterSet<>(roster, null, words, size);
+    }
+
+    /**
+     * Creates a set from the given bitset {@code words}, choosing the compact representation.
+     */
+    static <V> RosterSet<V> ofWords(Roster<V> roster, long[] words) {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        if (size >= arrayLimit(roster)) {
+            return new RosterSet<>(roster, null, words, size);
+        }
+        return new RosterSet<>(roster, listIndices(words, size), null, size);
+    }
+
+    public Roster<V> getRoster() {
+        return roster;
+    }
+
+    /**
+     * Returns {@code true} if the members are stored as a bitset rather than as an array of indices.
+     */
+    boolean isBitset() {
+        return words != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public V get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return roster.get(indexAt(index));
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        int index = roster.indexOf(value);
+        return (index >= 0) && containsIndex(index);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        int index = roster.indexOf(value);
+        return ((index >= 0) && containsIndex(index)) ? rank(index) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object value) {
+        return indexOf(value);
+    }
+
+    /**
+     * Returns a set of members in this or the {@code other} set.
+     */
+    public RosterSet<V> union(RosterSet<V> other) {
+        checkRoster(other);
+        if ((words == null) && (other.words == null)) {
+            int[] merged = new int[size + other.size];
+            int   count  = 0;
+            int   i      = 0;
+            int   j      = 0;
+            while ((i < size) || (j < other.size)) {
+                int x = (i < size) ? indices[i] : Integer.MAX_VALUE;
+                int y = (j < other.size) ? other.indices[j] : Integer.MAX_VALUE;
+                merged[count++] = Math.min(x, y);
+                i += (x <= y) ? 1 : 0;
+                j += (y <= x) ? 1 : 0;
+            }
+            return ofIndices(roster, merged, count);
+        }
+        long[] result = toWords();
+        other.orInto(result);
+        return ofWords(roster, result);
+    }
+
+    /**
+     * Returns a set of members in this set, but not in the {@code other} set.
+     */
+    public RosterSet<V> minus(RosterSet<V> other) {
+        checkRoster(other);
+        if (words == null) {
+            int[] remaining = new int[size];
+            int   count     = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.containsIndex(indices[i])) {
+                    remaining[count++] = indices[i];
+                }
+            }
+            return ofIndices(roster, remaining, count);
+        }
+        long[] result = words.clone();
+        if (other.words == null) {
+            for (int i = 0; i < other.size; i++) {
+                result[other.indices[i] >>> 6] &= ~(1L << other.indices[i]);
+            }
+        } else {
+            for (int w = 0; w < result.length; w++) {
+                result[w] &= ~other.words[w];
+            }
+        }
+        return ofWords(roster, result);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if ((other instanceof RosterSet) && (((RosterSet<?>) other).roster == roster)) {
+            RosterSet<?> that = (RosterSet<?>) other;
+            if (size != that.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (indexAt(i) != that.indexAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if ((h == 0) && (size > 0)) {
+            h = super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean containsIndex(int index) {
+        if (words != null) {
+            return (words[index >>> 6] & (1L << index)) != 0;
+        }
+        return Arrays.binarySearch(indices, index) >= 0;
+    }
+
+    /**
+     * Returns roster index of the member at the given position of this list. Indices of a bitset are listed lazily on
+     * the first positional access, and published through a volatile field, since the array is filled after it is
+     * allocated. Concurrent first accesses may list the same indices more than once.
+     */
+    private int indexAt(int position) {
+        if (words == null) {
+            return indices[position];
+        }
+        int[] listed = members;
+        if (listed == null) {
+            listed = listIndices(words, size);
+            members = listed;
+        }
+        return listed[position];
+    }
+
+    /**
+     * Returns position of the given member roster index in this list.
+     */
+    private int rank(int index) {
+        if (words == null) {
+            return Arrays.binarySearch(indices, index);
+        }
+        int rank = 0;
+        for (int w = 0; w < (index >>> 6); w++) {
+            rank += Long.bitCount(words[w]);
+        }
+        return rank + Long.bitCount(words[index >>> 6] & ((1L << index) - 1));
+    }
+
+    private long[] toWords() {
+        if (words != null) {
+            return words.clone();
+        }
+        long[] result = new long[wordCount(roster)];
+        orInto(result);
+        return result;
+    }
+
+    private void orInto(long[] target) {
+        if (words == null) {
+            for (int i = 0; i < size; i++) {
+                target[indices[i] >>> 6] |= 1L << indices[i];
+            }
+        } else {
+            for (int w = 0; w < target.length; w++) {
+                target[w] |= words[w];
+            }
+        }
+    }
+
+    private void checkRoster(RosterSet<V> other) {
+        requireNonNull(other, "other");
+        if (other.roster != roster) {
+            throw new IllegalArgumentException("sets belong to different rosters");
+        }
+    }
+
+    private static int[] listIndices(long[] words, int size) {
+        int[] indices = new int[size];
+        int   count   = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                indices[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return indices;
+    }
+
+    private static int wordCount(Roster<?> roster) {
+        return (roster.size() + 63) >>> 6;
+    }
+
+    /**
+     * Returns the cardinality from which on a bitset takes no more space than an array of {@code int} indices.
+     */
+    private static int arrayLimit(Roster<?> roster) {
+        return Math.max(1, 2 * wordCount(roster));
+    }
+}
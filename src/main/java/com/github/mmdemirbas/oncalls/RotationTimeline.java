@@ -36,15 +36,21 @@ public abstract class RotationTimeline<C extends Comparable<? super C>, U extend
         long     uniqueIterationCount = iterations.findUniqueIterationCount();
         long     indexOffset          = uniqueIterationCount * startIndex;
 
-        List<ValuedRange<C, V>> intervals = new ArrayList<>();
+        C                       effectiveStart = effectiveRange.getStartInclusive();
+        C                       effectiveEnd   = effectiveRange.getEndExclusive();
+        List<ValuedRange<C, V>> intervals      = new ArrayList<>();
         for (long index = startIndex; index <= endIndex; index++) {
             for (ValuedRange<U, Integer> valuedRange : iterations.getRanges()) {
-                Range<U> range            = valuedRange.getRange();
-                long     recipientIndex   = indexOffset + valuedRange.getValue();
-                V        recipient        = recipientAtIndex(recipientIndex);
-                C        finalRangeOffset = rangeOffset;
-                intervals.add(ValuedRange.of(range.map(value -> add(finalRangeOffset, value)).intersect(effectiveRange),
-                                             recipient));
+                // clip before creating the range, to avoid allocating temporary ranges for each interval
+                Range<U> range = valuedRange.getRange();
+                C        start = add(rangeOffset, range.getStartInclusive());
+                C        end   = add(rangeOffset, range.getEndExclusive());
+                start = (start.compareTo(effectiveStart) < 0) ? effectiveStart : start;
+                end = (end.compareTo(effectiveEnd) > 0) ? effectiveEnd : end;
+                if (start.compareTo(end) < 0) {
+                    V recipient = recipientAtIndex(indexOffset + valuedRange.getValue());
+                    intervals.add(ValuedRange.of(Range.of(start, end), recipient));
+                }
             }
             rangeOffset = add(rangeOffset, iterations.getDuration());
             indexOffset += uniqueIterationCount;
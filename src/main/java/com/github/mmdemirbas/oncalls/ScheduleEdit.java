@@ -0,0 +1,83 @@
+package com.github.mmdemirbas.oncalls;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a single edit of a schedule in a {@link Range}, such as an override. Unlike arbitrary patch functions,
+ * edits are plain data, so they can be persisted and replayed.
+ * <p>
+ * This class is immutable if the generic types {@link C} and {@link V} are immutable.
+ *
+ * @param <C> type of time points on the time line
+ * @param <V> type of the values associated by the schedule
+ */
+@Value
+public final class ScheduleEdit<C extends Comparable<? super C>, V> {
+    private final Kind     kind;
+    private final Range<C> range;
+    private final List<V>  values;
+
+    public enum Kind {
+        /**
+         * Adds the values to the existing ones.
+         */
+        ADD,
+        /**
+         * Removes the values from the existing ones.
+         */
+        REMOVE,
+        /**
+         * Replaces the existing values with the values.
+         */
+        OVERRIDE
+    }
+
+    public static <C extends Comparable<? super C>, V> ScheduleEdit<C, V> of(Kind kind, Range<C> range, List<V> values) {
+        return new ScheduleEdit<>(kind, range, values);
+    }
+
+    private ScheduleEdit(Kind kind, Range<C> range, List<V> values) {
+        this.kind = requireNonNull(kind, "kind");
+        this.range = requireNonNull(range, "range");
+        this.values = unmodifiableCopyOf(values);
+    }
+
+    /**
+     * Returns a patch function applying this edit, as used by {@link PatchedTimeline}.
+     */
+    public UnaryOperator<List<V>> toPatch() {
+        switch (kind) {
+            case ADD:
+                return existing -> {
+                    List<V> result = new ArrayList<>(existing);
+                    values.stream().filter(value -> !result.contains(value)).forEach(result::add);
+                    return result;
+                };
+            case REMOVE:
+                return existing -> {
+                    List<V> result = new ArrayList<>(existing);
+                    result.removeAll(values);
+                    return result;
+                };
+            case OVERRIDE:
+                return existing -> values;
+            default:
+                throw new IllegalStateException("unknown kind: " + kind);
+        }
+    }
+
+    /**
+     * Returns a single-interval patch timeline applying this edit.
+     */
+    public Timeline<C, UnaryOperator<List<V>>> toPatchTimeline() {
+        return StaticTimeline.ofIntervals(singletonList(ValuedRange.of(range, toPatch())));
+    }
+}
@@ -0,0 +1,375 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+import static com.github.mmdemirbas.oncalls.Range.maxOf;
+import static com.github.mmdemirbas.oncalls.Range.minOf;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A write-ahead journal of {@link ScheduleEdit}s on top of a base timeline, with periodic snapshots, so that the
+ * current schedule survives restarts without replaying the whole edit history.
+ * <p>
+ * Each appended edit is written to the current journal file and forced to the disk before {@link #append} returns.
+ * A checkpoint materializes the current timeline into a snapshot file, starts a new journal file and deletes the
+ * older files. The snapshot covers the extent of the {@code horizon} and of all edits appended so far, and overrides
+ * the base timeline within that extent, so no edit is lost by deleting the older journals. Outside the extent, the
+ * timeline is the base timeline. On {@link #open}, the latest snapshot is loaded and only the edits appended after it
+ * are replayed. A torn record at the end of the journal, left by a crash during an append, is detected by its checksum
+ * and truncated. A corrupt snapshot fails the recovery, since the edits it covers are no longer in the journal.
+ * <p>
+ * Directory layout, where {@code N} is the sequence number of the last edit before the file:
+ * <pre>
+ * snapshot-N.bin:  magic, sequence number, start and end of the extent, timeline in the format of
+ *                  {@link TimelineCodec}
+ * journal-N.log:   records of [var-int payload length, payload, CRC-32 of payload]
+ * payload:         kind, zig-zag encoded start and end points, value count, length-prefixed encoded values
+ * </pre>
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class ScheduleJournal<C extends Comparable<? super C>, V> implements Closeable {
+    static final int SNAPSHOT_MAGIC = 0x544C5331; // "TLS1"
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String JOURNAL_PREFIX  = "journal-";
+    private static final String JOURNAL_SUFFIX  = ".log";
+
+    private final Path                                      directory;
+    private final Timeline<C, V>                            baseTimeline;
+    private final Range<C>                                  horizon;
+    private final TimelineCodec<C, V>                       codec;
+    private final int                                       checkpointInterval;
+    private final List<Timeline<C, UnaryOperator<List<V>>>> patchTimelines;
+    private       Timeline<C, UnaryOperator<List<V>>>       snapshot;
+    private       Range<C>                                  extent;
+    private       long                                      sequence;
+    private       FileChannel                               journal;
+
+    /**
+     * Opens the journal in the specified {@code directory}, creating it if necessary, and recovers the state from the
+     * latest snapshot and the journal tail.
+     *
+     * @param baseTimeline       timeline to apply edits on, which must be the same each time the journal is opened,
+     *                           since snapshots don't cover ranges which are never edited
+     * @param horizon            range to materialize on checkpoints in addition to the edited ranges
+     * @param checkpointInterval number of appended edits triggering an automatic checkpoint, or {@code 0} to
+     *                           checkpoint only on explicit calls to {@link #checkpoint()}
+     */
+    public static <C extends Comparable<? super C>, V> ScheduleJournal<C, V> open(Path directory,
+                                                                                  Timeline<C, V> baseTimeline,
+                                                                                  Range<C> horizon,
+                                                                                  TimelineCodec<C, V> codec,
+                                                                                  int checkpointInterval) throws IOException {
+        ScheduleJournal<C, V> journal = new ScheduleJournal<>(directory,
+                                                              baseTimeline,
+                                                              horizon,
+                                                              codec,
+                                                              checkpointInterval);
+        journal.recover();
+        return journal;
+    }
+
+    private ScheduleJournal(Path directory,
+                            Timeline<C, V> baseTimeline,
+                            Range<C> horizon,
+                            TimelineCodec<C, V> codec,
+                            int checkpointInterval) {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("checkpointInterval must not be negative: " + checkpointInterval);
+        }
+        this.directory = requireNonNull(directory, "directory");
+        this.baseTimeline = requireNonNull(baseTimeline, "baseTimeline");
+        this.horizon = requireNonNull(horizon, "horizon");
+        this.codec = requireNonNull(codec, "codec");
+        this.checkpointInterval = checkpointInterval;
+        patchTimelines = new ArrayList<>();
+        extent = horizon;
+    }
+
+    /**
+     * Returns sequence number of the last appended edit, or {@code 0} if no edit appended yet.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns a timeline applying the latest snapshot and all edits appended after it on top of the base timeline.
+     */
+    public Timeline<C, V> getTimeline() {
+        List<Timeline<C, UnaryOperator<List<V>>>> patches = new ArrayList<>(patchTimelines.size() + 1);
+        if (snapshot != null) {
+            patches.add(snapshot);
+        }
+        patches.addAll(patchTimelines);
+        return PatchedTimeline.of(baseTimeline, patches);
+    }
+
+    /**
+     * Durably appends the specified {@code edit} to the journal, and checkpoints if the checkpoint interval is
+     * reached.
+     */
+    public void append(ScheduleEdit<C, V> edit) throws IOException {
+        requireNonNull(edit, "edit");
+        ensureOpen();
+        byte[] payload = encode(edit);
+        CRC32  crc     = new CRC32();
+        crc.update(payload);
+
+        ByteSink sink = new ByteSink(journal);
+        sink.writeVarInt(payload.length);
+        sink.writeRawBytes(payload);
+        sink.writeInt((int) crc.getValue());
+        sink.flush();
+        journal.force(false);
+
+        sequence++;
+        apply(edit);
+        if ((checkpointInterval > 0) && (patchTimelines.size() >= checkpointInterval)) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Materializes the current timeline within the horizon and all edited ranges into a new snapshot, starts a new
+     * journal file and deletes the older snapshot and journal files.
+     */
+    public void checkpoint() throws IOException {
+        ensureOpen();
+        TimelineSegment<C, V> segment   = getTimeline().toSegment(extent);
+        Path                  target    = directory.resolve(fileName(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path                  temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            ByteSink sink = new ByteSink(channel);
+            sink.writeInt(SNAPSHOT_MAGIC);
+            sink.writeLong(sequence);
+            sink.writeLong(codec.getTimeAxis().toLong(extent.getStartInclusive()));
+            sink.writeLong(codec.getTimeAxis().toLong(extent.getEndExclusive()));
+            sink.flush();
+            codec.write(segment, channel);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        journal.close();
+        journal = openJournal(sequence);
+        snapshot = toOverridingPatch(segment, extent);
+        patchTimelines.clear();
+
+        for (Path file : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(sequence).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : listFiles(JOURNAL_PREFIX, JOURNAL_SUFFIX).headMap(sequence).values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        // snapshots are written to a temporary file and moved atomically, so an unreadable one is corrupt
+        TreeMap<Long, Path> snapshots        = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long                snapshotSequence = snapshots.isEmpty() ? 0 : readSnapshot(snapshots.lastEntry().getValue());
+        sequence = snapshotSequence;
+
+        TreeMap<Long, Path> journals = listFiles(JOURNAL_PREFIX, JOURNAL_SUFFIX);
+        for (Path file : journals.values()) {
+            replayJournal(file, parseSequence(file, JOURNAL_PREFIX, JOURNAL_SUFFIX), snapshotSequence);
+        }
+        journal = journals.isEmpty() ? openJournal(sequence) : openJournal(journals.lastKey());
+    }
+
+    private long readSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + (3 * Long.BYTES));
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new EOFException("truncated snapshot file: " + file);
+                }
+            }
+            if (header.getInt(0) != SNAPSHOT_MAGIC) {
+                throw new IOException("not a snapshot file: " + file);
+            }
+            TimeAxis<C> timeAxis       = codec.getTimeAxis();
+            Range<C>    snapshotExtent = Range.of(timeAxis.fromLong(header.getLong(Integer.BYTES + Long.BYTES)),
+                                                  timeAxis.fromLong(header.getLong(Integer.BYTES + (2 * Long.BYTES))));
+            snapshot = toOverridingPatch(codec.read(channel), snapshotExtent);
+            extent = span(extent, snapshotExtent);
+            return header.getLong(Integer.BYTES);
+        } catch (RuntimeException e) {
+            throw new IOException("corrupt snapshot file: " + file, e);
+        }
+    }
+
+    private void replayJournal(Path file, long firstSequence, long snapshotSequence) throws IOException {
+        long fileSize    = Files.size(file);
+        long validLength = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteSource source = new ByteSource(channel);
+            long       edit   = firstSequence;
+            while (true) {
+                byte[] payload;
+                int    checksum;
+                try {
+                    int length = source.readVarInt();
+                    if (length > (fileSize - source.position())) {
+                        break; // torn record
+                    }
+                    payload = source.readRawBytes(length);
+                    checksum = source.readInt();
+                } catch (IOException e) {
+                    break; // torn or malformed record
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                validLength = source.position();
+                edit++;
+                if (edit > snapshotSequence) {
+                    apply(decode(payload));
+                    sequence = edit;
+                }
+            }
+        }
+        if (validLength < fileSize) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+    }
+
+    private void apply(ScheduleEdit<C, V> edit) {
+        patchTimelines.add(edit.toPatchTimeline());
+        extent = span(extent, edit.getRange());
+    }
+
+    private FileChannel openJournal(long firstSequence) throws IOException {
+        Path        file    = directory.resolve(fileName(JOURNAL_PREFIX, firstSequence, JOURNAL_SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private byte[] encode(ScheduleEdit<C, V> edit) throws IOException {
+        TimeAxis<C>           timeAxis   = codec.getTimeAxis();
+        ValueCodec<V>         valueCodec = codec.getValueCodec();
+        ByteArrayOutputStream bytes      = new ByteArrayOutputStream();
+        ByteSink              sink       = new ByteSink(Channels.newChannel(bytes));
+        sink.writeByte(edit.getKind().ordinal());
+        sink.writeZigZag(timeAxis.toLong(edit.getRange().getStartInclusive()));
+        sink.writeZigZag(timeAxis.toLong(edit.getRange().getEndExclusive()));
+        sink.writeVarInt(edit.getValues().size());
+        for (V value : edit.getValues()) {
+            sink.writeBytes(valueCodec.encode(value));
+        }
+        sink.flush();
+        return bytes.toByteArray();
+    }
+
+    private ScheduleEdit<C, V> decode(byte[] payload) throws IOException {
+        TimeAxis<C>   timeAxis   = codec.getTimeAxis();
+        ValueCodec<V> valueCodec = codec.getValueCodec();
+        ByteSource    source     = new ByteSource(Channels.newChannel(new ByteArrayInputStream(payload)));
+
+        ScheduleEdit.Kind kind   = ScheduleEdit.Kind.values()[source.readByte()];
+        C                 start  = timeAxis.fromLong(source.readZigZag());
+        C                 end    = timeAxis.fromLong(source.readZigZag());
+        int               count  = source.readVarInt();
+        List<V>           values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(valueCodec.decode(source.readBytes()));
+        }
+        return ScheduleEdit.of(kind, Range.of(start, end), unmodifiableList(values));
+    }
+
+    private TreeMap<Long, Path> listFiles(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : stream) {
+                files.put(parseSequence(file, prefix, suffix), file);
+            }
+        }
+        return files;
+    }
+
+    private void ensureOpen() {
+        if (journal == null) {
+            throw new IllegalStateException("journal is closed");
+        }
+    }
+
+    /**
+     * Returns a patch timeline replacing the values of the base timeline within the {@code extent} by the values of the
+     * specified {@code segment}, including the empty ones.
+     */
+    private static <C extends Comparable<? super C>, V> Timeline<C, UnaryOperator<List<V>>> toOverridingPatch(TimelineSegment<C, V> segment,
+                                                                                                              Range<C> extent) {
+        List<ValuedRange<C, UnaryOperator<List<V>>>> patches = new ArrayList<>();
+        C                                            start   = extent.getStartInclusive();
+        List<V>                                      values  = emptyList();
+        for (Entry<C, List<V>> entry : segment.toIntervalMap().entrySet()) {
+            addOverride(patches, start, entry.getKey(), values);
+            start = maxOf(start, entry.getKey());
+            values = entry.getValue();
+        }
+        addOverride(patches, start, extent.getEndExclusive(), values);
+        return StaticTimeline.ofIntervals(patches);
+    }
+
+    private static <C extends Comparable<? super C>, V> void addOverride(List<ValuedRange<C, UnaryOperator<List<V>>>> patches,
+                                                                         C start,
+                                                                         C end,
+                                                                         List<V> values) {
+        if (start.compareTo(end) < 0) {
+            patches.add(ValuedRange.of(Range.of(start, end), existing -> values));
+        }
+    }
+
+    private static <C extends Comparable<? super C>> Range<C> span(Range<C> x, Range<C> y) {
+        return Range.of(minOf(x.getStartInclusive(), y.getStartInclusive()),
+                        maxOf(x.getEndExclusive(), y.getEndExclusive()));
+    }
+
+    private static String fileName(String prefix, long sequence, String suffix) {
+        return String.format("%s%020d%s", prefix, sequence, suffix);
+    }
+
+    private static long parseSequence(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sweeps the key points of multiple {@link TimelineSegment}s in ascending order by a k-way merge of their interval
+ * maps, without building a merged segment.
+ * <p>
+ * Each call to {@link #next()} advances to the next key point, and exposes the indices of the segments changing at
+ * that point together with their values just before and just after the point. Cost of a step is
+ * {@code O(log N)} per changing segment, where {@code N} is the number of segments.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class SegmentSweep<C extends Comparable<? super C>, V> {
+    private final List<Cursor<C, V>>          cursors;
+    private final PriorityQueue<Cursor<C, V>> queue;
+    private final List<Integer>               changedIndices;
+    private       C                           point;
+
+    SegmentSweep(List<? extends TimelineSegment<C, V>> segments) {
+        requireNonNull(segments, "segments");
+        cursors = new ArrayList<>(segments.size());
+        queue = new PriorityQueue<>(Math.max(1, segments.size()),
+                                    Comparator.<Cursor<C, V>, C>comparing(cursor -> cursor.pending.getKey())
+                                            .thenComparingInt(cursor -> cursor.index));
+        changedIndices = new ArrayList<>();
+        for (TimelineSegment<C, V> segment : segments) {
+            Cursor<C, V> cursor = new Cursor<>(cursors.size(), segment.toIntervalMap().entrySet().iterator());
+            cursors.add(cursor);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+    }
+
+    int size() {
+        return cursors.size();
+    }
+
+    boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Returns the key point which will be returned by the next call to {@link #next()}, or {@code null} if the sweep
+     * is finished.
+     */
+    C peek() {
+        Cursor<C, V> head = queue.peek();
+        return (head == null) ? null : head.pending.getKey();
+    }
+
+    /**
+     * Advances to the next key point and returns it.
+     */
+    C next() {
+        if (queue.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        for (Integer index : changedIndices) {
+            cursors.get(index).previous = cursors.get(index).current;
+        }
+        changedIndices.clear();
+
+        point = queue.peek().pending.getKey();
+        while (!queue.isEmpty() && (queue.peek().pending.getKey().compareTo(point) == 0)) {
+            Cursor<C, V> cursor = queue.poll();
+            cursor.previous = cursor.current;
+            cursor.current = cursor.pending.getValue();
+            changedIndices.add(cursor.index);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return point;
+    }
+
+    /**
+     * Returns the current key point, which is the one returned by the last call to {@link #next()}.
+     */
+    C getPoint() {
+        return point;
+    }
+
+    /**
+     * Returns indices of the segments having a key point at the current point in ascending order.
+     */
+    List<Integer> getChangedIndices() {
+        return unmodifiableList(changedIndices);
+    }
+
+    /**
+     * Returns values of the segment with the specified {@code index} just before the current point.
+     */
+    List<V> previousValues(int index) {
+        return cursors.get(index).previous;
+    }
+
+    /**
+     * Returns values of the segment with the specified {@code index} starting from the current point.
+     */
+    List<V> currentValues(int index) {
+        return cursors.get(index).current;
+    }
+
+    private static final class Cursor<C, V> {
+        final int                         index;
+        final Iterator<Entry<C, List<V>>> entries;
+        Entry<C, List<V>>                 pending;
+        List<V>                           previous = emptyList();
+        List<V>                           current  = emptyList();
+
+        Cursor(int index, Iterator<Entry<C, List<V>>> entries) {
+            this.index = index;
+            this.entries = entries;
+        }
+
+        boolean advance() {
+            pending = entries.hasNext() ? entries.next() : null;
+            return pending != null;
+        }
+    }
+}
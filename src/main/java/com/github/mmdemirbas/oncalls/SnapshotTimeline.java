@@ -0,0 +1,224 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Timeline} which evaluates a source timeline within a {@code horizon} once, and keeps the result in a
+ * snapshot file, so that later processes can load it instead of building and evaluating the source timeline.
+ * <p>
+ * The snapshot is tagged with a SHA-256 fingerprint of the source definition, such as the configuration the source
+ * timeline is built from. On first use, the snapshot file is loaded if its fingerprint and horizon match. Otherwise,
+ * the source timeline is built and evaluated, and the snapshot file is replaced. If the snapshot file cannot be
+ * written, the evaluated segment is kept in memory and only writing it is retried on later uses, while the failure is
+ * reported by {@link #getWriteFailure()}. Segments not covered by the horizon are always calculated from the source
+ * timeline, which is built lazily only when needed.
+ * <p>
+ * File layout:
+ * <pre>
+ * header:    magic, SHA-256 fingerprint, encoded start and end of the horizon
+ * timeline:  evaluated segment in the format of {@link TimelineCodec}
+ * </pre>
+ * <p>
+ * This class is thread-safe, and immutable if the generic types {@link C} and {@link V} are immutable and the
+ * source definition matches the source timeline.
+ */
+public final class SnapshotTimeline<C extends Comparable<? super C>, V> implements Timeline<C, V> {
+    static final int MAGIC = 0x544C5031; // "TLP1"
+
+    private static final int FINGERPRINT_SIZE = 32;
+    private static final int HEADER_SIZE      = Integer.BYTES + FINGERPRINT_SIZE + (2 * Long.BYTES);
+
+    private final    Path                               file;
+    private final    byte[]                             fingerprint;
+    private final    Range<C>                           horizon;
+    private final    TimelineCodec<C, V>                codec;
+    private final    Supplier<? extends Timeline<C, V>> source;
+    private volatile Timeline<C, V>                     sourceTimeline;
+    private volatile Timeline<C, V>                     snapshot;
+    private volatile IOException                        writeFailure;
+
+    /**
+     * Evaluated segment which couldn't be written yet, taken by the thread retrying the write.
+     */
+    private final AtomicReference<TimelineSegment<C, V>> unwritten = new AtomicReference<>();
+
+    /**
+     * Creates a snapshot timeline. Neither the file nor the source is accessed until the first use.
+     *
+     * @param file       snapshot file to load from and write to
+     * @param definition serialized definition of the source timeline, to detect stale snapshots
+     * @param horizon    range to evaluate and keep in the snapshot
+     * @param source     supplier building the source timeline, called at most once
+     */
+    public static <C extends Comparable<? super C>, V> SnapshotTimeline<C, V> of(Path file,
+                                                                                 byte[] definition,
+                                                                                 Range<C> horizon,
+                                                                                 TimelineCodec<C, V> codec,
+                                                                                 Supplier<? extends Timeline<C, V>> source) {
+        return new SnapshotTimeline<>(file, definition, horizon, codec, source);
+    }
+
+    private SnapshotTimeline(Path file,
+                             byte[] definition,
+                             Range<C> horizon,
+                             TimelineCodec<C, V> codec,
+                             Supplier<? extends Timeline<C, V>> source) {
+        this.file = requireNonNull(file, "file");
+        this.fingerprint = fingerprintOf(requireNonNull(definition, "definition"));
+        this.horizon = requireNonNull(horizon, "horizon");
+        this.codec = requireNonNull(codec, "codec");
+        this.source = requireNonNull(source, "source");
+    }
+
+    public Range<C> getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Returns the failure of the latest attempt to write the snapshot file, or {@code null} if it succeeded or wasn't
+     * needed.
+     */
+    public IOException getWriteFailure() {
+        return writeFailure;
+    }
+
+    @Override
+    public TimelineSegment<C, V> toSegment(Range<C> calculationRange) {
+        if ((calculationRange != null) && covers(calculationRange)) {
+            return getSnapshot().toSegment(calculationRange);
+        }
+        return getSourceTimeline().toSegment(calculationRange);
+    }
+
+    private boolean covers(Range<C> range) {
+        return (horizon.getStartInclusive().compareTo(range.getStartInclusive()) <= 0)
+               && (range.getEndExclusive().compareTo(horizon.getEndExclusive()) <= 0);
+    }
+
+    private Timeline<C, V> getSnapshot() {
+        Timeline<C, V> result = snapshot;
+        if (result == null) {
+            synchronized (this) {
+                result = snapshot;
+                if (result == null) {
+                    result = load();
+                    if (result == null) {
+                        TimelineSegment<C, V> segment = getSourceTimeline().toSegment(horizon);
+                        result = StaticTimeline.ofIntervalMap(segment.toIntervalMap());
+                        unwritten.set(segment);
+                    }
+                    snapshot = result;
+                }
+            }
+        }
+        TimelineSegment<C, V> segment = unwritten.getAndSet(null);
+        if (segment != null) {
+            tryStore(segment);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the given segment to the snapshot file, or keeps it to retry on a later use if writing fails.
+     */
+    private void tryStore(TimelineSegment<C, V> segment) {
+        try {
+            store(segment);
+            writeFailure = null;
+        } catch (IOException e) {
+            writeFailure = e;
+            unwritten.compareAndSet(null, segment);
+        }
+    }
+
+    private Timeline<C, V> getSourceTimeline() {
+        Timeline<C, V> result = sourceTimeline;
+        if (result == null) {
+            synchronized (this) {
+                result = sourceTimeline;
+                if (result == null) {
+                    result = requireNonNull(source.get(), "source timeline");
+                    sourceTimeline = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the timeline in the snapshot file, or {@code null} if the file is missing, stale or corrupt.
+     */
+    private Timeline<C, V> load() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new EOFException();
+                }
+            }
+            byte[] storedFingerprint = new byte[FINGERPRINT_SIZE];
+            ((Buffer) header).position(Integer.BYTES);
+            header.get(storedFingerprint);
+            if ((header.getInt(0) != MAGIC)
+                || !Arrays.equals(fingerprint, storedFingerprint)
+                || (header.getLong() != codec.getTimeAxis().toLong(horizon.getStartInclusive()))
+                || (header.getLong() != codec.getTimeAxis().toLong(horizon.getEndExclusive()))) {
+                return null;
+            }
+            return codec.read(channel);
+        } catch (IOException | RuntimeException e) {
+            // missing or corrupt snapshot, will be recalculated
+            return null;
+        }
+    }
+
+    private void store(TimelineSegment<C, V> segment) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                                        StandardOpenOption.WRITE)) {
+                ByteSink sink = new ByteSink(channel);
+                sink.writeInt(MAGIC);
+                sink.writeRawBytes(fingerprint);
+                sink.writeLong(codec.getTimeAxis().toLong(horizon.getStartInclusive()));
+                sink.writeLong(codec.getTimeAxis().toLong(horizon.getEndExclusive()));
+                sink.flush();
+                codec.write(segment, channel);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static byte[] fingerprintOf(byte[] definition) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(definition);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
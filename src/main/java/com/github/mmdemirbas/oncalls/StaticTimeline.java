@@ -25,6 +25,14 @@ public final class StaticTimeline<C extends Comparable<? super C>, V> implements
         return new StaticTimeline<>(ValuedRange.buildIntervalMap(intervals));
     }
 
+    /**
+     * Creates a timeline directly from an already built interval map, which must be in the form produced by
+     * {@link ValuedRange#buildIntervalMap(Collection)}. The map is used as is, without copying.
+     */
+    static <C extends Comparable<? super C>, V> StaticTimeline<C, V> ofIntervalMap(NavigableMap<C, List<V>> intervalMap) {
+        return new StaticTimeline<>(intervalMap);
+    }
+
     private StaticTimeline(NavigableMap<C, List<V>> intervalMap) {
         this.intervalMap = unmodifiableNavigableMap(requireNonNull(intervalMap, "intervalMap"));
     }
@@ -0,0 +1,35 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Conversions used by the built-in {@link TimeAxis} implementations.
+ */
+final class TimeAxes {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI  = 1_000_000L;
+
+    static long epochNanosOf(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    static Instant instantOfEpochNanos(long value) {
+        return Instant.ofEpochSecond(Math.floorDiv(value, NANOS_PER_SECOND), Math.floorMod(value, NANOS_PER_SECOND));
+    }
+
+    static ZonedDateTime checkZone(ZonedDateTime point, ZoneId zone) {
+        if (!point.getZone().equals(zone)) {
+            throw new IllegalArgumentException("point is not in zone " + zone + ": " + point);
+        }
+        return point;
+    }
+
+    static long epochMillisOf(Instant instant) {
+        if ((instant.getNano() % NANOS_PER_MILLI) != 0) {
+            throw new IllegalArgumentException("instant has a sub-millisecond part: " + instant);
+        }
+        return instant.toEpochMilli();
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maps time points to and from {@code long} values preserving their order, so that engines working on primitive
+ * {@code long}s, such as the binary timeline formats and the packed timelines, can be used with any type of time
+ * points.
+ * <p>
+ * Implementations must satisfy {@code compare(a, b) == Long.compare(toLong(a), toLong(b))} and
+ * {@code fromLong(toLong(a)).equals(a)} for all points {@code a} and {@code b} on the axis.
+ *
+ * @param <C> type of time points on the time line
+ */
+public interface TimeAxis<C extends Comparable<? super C>> {
+    long toLong(C point);
+
+    C fromLong(long value);
+
+    /**
+     * Returns a function snapping points to the nearest multiple of {@code step} on this axis, rounding ties up, for
+     * {@link TimelineSegment#quantize(UnaryOperator)}. A snapped point is at most {@code step / 2} away from the
+     * original one. For example, {@code TimeAxis.instantsInMillis().snapToGrid(60_000)} snaps instants to the minute.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive
+     */
+    default UnaryOperator<C> snapToGrid(long step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        return point -> {
+            long value     = toLong(point);
+            long remainder = Math.floorMod(value, step);
+            long floor     = value - remainder;
+            return fromLong((remainder < (step - remainder)) ? floor : Math.addExact(floor, step));
+        };
+    }
+
+    static <C extends Comparable<? super C>> TimeAxis<C> of(ToLongFunction<? super C> encoder,
+                                                            LongFunction<? extends C> decoder) {
+        requireNonNull(encoder, "encoder");
+        requireNonNull(decoder, "decoder");
+        return new TimeAxis<C>() {
+            @Override
+            public long toLong(C point) {
+                return encoder.applyAsLong(point);
+            }
+
+            @Override
+            public C fromLong(long value) {
+                return decoder.apply(value);
+            }
+        };
+    }
+
+    /**
+     * Returns an axis of {@link Integer}s. Decoding a value out of the {@code int} range throws
+     * {@link ArithmeticException}.
+     */
+    static TimeAxis<Integer> integers() {
+        return of(Integer::longValue, Math::toIntExact);
+    }
+
+    /**
+     * Returns an axis of {@link Long}s.
+     */
+    static TimeAxis<Long> longs() {
+        return of(Long::longValue, Long::valueOf);
+    }
+
+    /**
+     * Returns an axis of {@link Instant}s in nanoseconds since the epoch, which covers about 292 years before and
+     * after the epoch. Encoding an instant out of that range throws {@link ArithmeticException}.
+     */
+    static TimeAxis<Instant> instants() {
+        return of(TimeAxes::epochNanosOf, TimeAxes::instantOfEpochNanos);
+    }
+
+    /**
+     * Returns an axis of {@link Instant}s in milliseconds since the epoch. Encoding an instant with a sub-millisecond
+     * part throws {@link IllegalArgumentException}, since it could not be decoded back.
+     */
+    static TimeAxis<Instant> instantsInMillis() {
+        return of(TimeAxes::epochMillisOf, Instant::ofEpochMilli);
+    }
+
+    /**
+     * Returns an axis of {@link ZonedDateTime}s in the specified {@code zone}, in nanoseconds since the epoch as in
+     * {@link #instants()}. Since {@link ZonedDateTime#compareTo} orders the same instant in different zones
+     * differently, encoding a point in another zone throws {@link IllegalArgumentException}.
+     */
+    static TimeAxis<ZonedDateTime> zonedDateTimes(ZoneId zone) {
+        requireNonNull(zone, "zone");
+        return of(point -> TimeAxes.epochNanosOf(TimeAxes.checkZone(point, zone).toInstant()),
+                  value -> ZonedDateTime.ofInstant(TimeAxes.instantOfEpochNanos(value), zone));
+    }
+}
@@ -2,6 +2,7 @@ package com.github.mmdemirbas.oncalls;
 
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -23,12 +24,35 @@ public interface Timeline<C extends Comparable<? super C>, V> {
     default <A> TimelineSegment<C, V> mergeWith(List<Timeline<C, A>> timelines,
                                                 Range<C> calculationRange,
                                                 BiFunction<List<V>, List<A>, List<V>> mergeFunction) {
+        return mergeWith(timelines, calculationRange, MergeFunction.of(mergeFunction));
+    }
+
+    /**
+     * Merges this and other {@code timelines} into one {@link TimelineSegment} on the specified
+     * {@code calculationRange} using the provided {@code mergeFunction}, which writes into a reused buffer.
+     *
+     * @param <A> type of the values of the other timelines
+     */
+    default <A> TimelineSegment<C, V> mergeWith(List<Timeline<C, A>> timelines,
+                                                Range<C> calculationRange,
+                                                MergeFunction<V, A> mergeFunction) {
         requireNonNull(timelines, "timelines");
         return toSegment(calculationRange).mergeWith(timelines.stream()
                                                               .map(timeline -> timeline.toSegment(calculationRange))
                                                               .collect(Collectors.toList()), mergeFunction);
     }
 
+    /**
+     * Returns a view of this timeline whose segments are quantized by the given {@code snap} function as described in
+     * {@link TimelineSegment#quantize(UnaryOperator)}. Segments are snapped after being calculated on the given range,
+     * so they are not clipped to it: the segment of [0, 90) ends at 120 on a grid of 60. Named differently than the
+     * segment method, since some classes are both timelines and segments.
+     */
+    default Timeline<C, V> quantized(UnaryOperator<C> snap) {
+        requireNonNull(snap, "snap");
+        return calculationRange -> toSegment(calculationRange).quantize(snap);
+    }
+
     /**
      * Creates a {@link TimelineSegment} on the specified {@code calculationRange} of this Timeline.
      */
@@ -0,0 +1,98 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compact binary format for the interval maps of {@link TimelineSegment}s.
+ * <p>
+ * The format is a header followed by a stream of records:
+ * <ul>
+ * <li>a value record defines the next entry of the value table by its encoded bytes,</li>
+ * <li>a value-set record defines the next entry of the value-set table as a list of value table indices,</li>
+ * <li>a run record defines successive key points sharing the same distance to their predecessors, as one
+ * zig-zag encoded delta, a run length, and a value-set table index per key point,</li>
+ * <li>an end record terminates the stream.</li>
+ * </ul>
+ * All integers are variable-length encoded. Each distinct value and each distinct value-set is written only once, at
+ * the point it is first used, so both writing and reading are streaming and need memory only for the tables.
+ * Periodic rotations produce long runs, which cost roughly one byte per key point.
+ * <p>
+ * This class is immutable if the given codecs are immutable.
+ */
+public final class TimelineCodec<C extends Comparable<? super C>, V> {
+    static final int MAGIC   = 0x544C4E31; // "TLN1"
+    static final int VERSION = 1;
+
+    static final int END_RECORD       = 0;
+    static final int VALUE_RECORD     = 1;
+    static final int VALUE_SET_RECORD = 2;
+    static final int RUN_RECORD       = 3;
+
+    private final TimeAxis<C>   timeAxis;
+    private final ValueCodec<V> valueCodec;
+
+    public static <C extends Comparable<? super C>, V> TimelineCodec<C, V> of(TimeAxis<C> timeAxis,
+                                                                              ValueCodec<V> valueCodec) {
+        return new TimelineCodec<>(timeAxis, valueCodec);
+    }
+
+    private TimelineCodec(TimeAxis<C> timeAxis, ValueCodec<V> valueCodec) {
+        this.timeAxis = requireNonNull(timeAxis, "timeAxis");
+        this.valueCodec = requireNonNull(valueCodec, "valueCodec");
+    }
+
+    public TimeAxis<C> getTimeAxis() {
+        return timeAxis;
+    }
+
+    public ValueCodec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * Writes the interval map of the specified {@code segment} to the given {@code channel}. The channel is not
+     * closed.
+     */
+    public void write(TimelineSegment<C, V> segment, WritableByteChannel channel) throws IOException {
+        requireNonNull(segment, "segment");
+        TimelineWriter<C, V> writer = newWriter(channel);
+        for (Entry<C, List<V>> entry : segment.toIntervalMap().entrySet()) {
+            writer.write(entry.getKey(), entry.getValue());
+        }
+        writer.finish();
+    }
+
+    /**
+     * Reads a timeline from the given {@code channel} up to the end record. The channel is not closed.
+     */
+    public StaticTimeline<C, V> read(ReadableByteChannel channel) throws IOException {
+        TimelineReader<C, V>     reader      = newReader(channel);
+        NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+        for (Entry<C, List<V>> entry = reader.read(); entry != null; entry = reader.read()) {
+            intervalMap.put(entry.getKey(), entry.getValue());
+        }
+        return StaticTimeline.ofIntervalMap(intervalMap);
+    }
+
+    /**
+     * Writes the header to the given {@code channel} and returns a writer to stream the interval map entries.
+     */
+    public TimelineWriter<C, V> newWriter(WritableByteChannel channel) throws IOException {
+        return new TimelineWriter<>(new ByteSink(channel), timeAxis, valueCodec);
+    }
+
+    /**
+     * Reads the header from the given {@code channel} and returns a reader to stream the interval map entries.
+     */
+    public TimelineReader<C, V> newReader(ReadableByteChannel channel) throws IOException {
+        return new TimelineReader<>(new ByteSource(channel), timeAxis, valueCodec);
+    }
+}
@@ -0,0 +1,499 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Imports {@code (start, end, value)} rows from a file into a {@link StaticTimeline}, without loading all rows into
+ * memory.
+ * <p>
+ * Rows are first streamed into the interval map assuming that they are sorted by their start points, which is the
+ * usual case for exported schedules. If an out of order row is detected, the file is read again and sorted by an
+ * external merge sort: chunks of at most {@code maxRowsInMemory} rows are sorted in memory and spilled to temporary
+ * files, which are then merged while building the interval map. At most {@link #MAX_FAN_IN} chunks are merged at
+ * once, so that open files and read buffers stay bounded; more chunks are first merged in passes into intermediate
+ * chunks. Rows with the same start point keep their order in the file.
+ * <p>
+ * Overlapping and successive rows of the same value are joined into a single interval.
+ * <p>
+ * This class is immutable if the provided functions are stateless.
+ */
+public final class TimelineImporter<C extends Comparable<? super C>, V> {
+    /**
+     * Maximum number of chunks merged at once.
+     */
+    static final int MAX_FAN_IN = 64;
+
+    private final Function<String, ? extends C> pointParser;
+    private final Function<String, ? extends V> valueParser;
+    private final int                           maxRowsInMemory;
+
+    /**
+     * Supported file formats. All formats are read in UTF-8, and blank lines are skipped.
+     */
+    public enum Format {
+        /**
+         * Comma-separated {@code start,end,value} lines, where fields may be quoted by {@code "} as in RFC 4180,
+         * except that a quoted field cannot span multiple lines.
+         */
+        CSV,
+        /**
+         * Same as {@link #CSV}, but the first line is a header and skipped.
+         */
+        CSV_WITH_HEADER,
+        /**
+         * One JSON object per line, having {@code start}, {@code end} and {@code value} members. Member values may be
+         * strings or other scalars, which are passed to the parsers as written.
+         */
+        JSON_LINES
+    }
+
+    public static <C extends Comparable<? super C>, V> TimelineImporter<C, V> of(Function<String, ? extends C> pointParser,
+                                                                                 Function<String, ? extends V> valueParser,
+                                                                                 int maxRowsInMemory) {
+        return new TimelineImporter<>(pointParser, valueParser, maxRowsInMemory);
+    }
+
+    private TimelineImporter(Function<String, ? extends C> pointParser,
+                             Function<String, ? extends V> valueParser,
+                             int maxRowsInMemory) {
+        if (maxRowsInMemory < 1) {
+            throw new IllegalArgumentException("maxRowsInMemory must be positive: " + maxRowsInMemory);
+        }
+        this.pointParser = requireNonNull(pointParser, "pointParser");
+        this.valueParser = requireNonNull(valueParser, "valueParser");
+        this.maxRowsInMemory = maxRowsInMemory;
+    }
+
+    /**
+     * Reads the specified {@code file} in the specified {@code format}. Rows with equal start and end points are
+     * skipped.
+     *
+     * @throws IllegalArgumentException if a line is malformed, or if the end point of a row is before its start
+     */
+    public StaticTimeline<C, V> read(Path file, Format format) throws IOException {
+        requireNonNull(file, "file");
+        requireNonNull(format, "format");
+        IntervalMapBuilder<C, V> builder = readSorted(file, format);
+        if (builder == null) {
+            builder = readUnsorted(file, format);
+        }
+        return StaticTimeline.ofIntervalMap(builder.build());
+    }
+
+    /**
+     * Reads the rows assuming they are sorted, and returns {@code null} as soon as an unsorted row is encountered.
+     */
+    private IntervalMapBuilder<C, V> readSorted(Path file, Format format) throws IOException {
+        IntervalMapBuilder<C, V> builder = new IntervalMapBuilder<>();
+        try (RowReader reader = new RowReader(file, format)) {
+            C previous = null;
+            for (String[] fields = reader.read(); fields != null; fields = reader.read()) {
+                try {
+                    C start = pointParser.apply(fields[0]);
+                    C end   = pointParser.apply(fields[1]);
+                    if ((previous != null) && (start.compareTo(previous) < 0)) {
+                        return null;
+                    }
+                    builder.add(start, end, valueParser.apply(fields[2]));
+                    previous = start;
+                } catch (RuntimeException e) {
+                    throw reader.malformed(e);
+                }
+            }
+        }
+        return builder;
+    }
+
+    private IntervalMapBuilder<C, V> readUnsorted(Path file, Format format) throws IOException {
+        List<Path> chunks = new ArrayList<>();
+        try {
+            try (RowReader reader = new RowReader(file, format)) {
+                List<Row<C>> rows = new ArrayList<>();
+                for (String[] fields = reader.read(); fields != null; fields = reader.read()) {
+                    C start;
+                    try {
+                        start = pointParser.apply(fields[0]);
+                        C end = pointParser.apply(fields[1]);
+                        if (end.compareTo(start) < 0) {
+                            throw new IllegalArgumentException("end is before start: " + end + " < " + start);
+                        }
+                    } catch (RuntimeException e) {
+                        throw reader.malformed(e);
+                    }
+                    rows.add(new Row<>(start, fields));
+                    if (rows.size() == maxRowsInMemory) {
+                        chunks.add(spill(rows));
+                        rows.clear();
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    chunks.add(spill(rows));
+                }
+            }
+            return merge(chunks);
+        } finally {
+            for (Path chunk : chunks) {
+                Files.deleteIfExists(chunk);
+            }
+        }
+    }
+
+    private static <C extends Comparable<? super C>> Path spill(List<Row<C>> rows) throws IOException {
+        rows.sort(Comparator.comparing(row -> row.start));
+        return writeChunk(sink -> {
+            for (Row<C> row : rows) {
+                writeRow(sink, row);
+            }
+        });
+    }
+
+    /**
+     * Merges the given chunks into the interval map. Chunks are first merged into fewer intermediate chunks in passes
+     * of groups of successive chunks, until at most {@link #MAX_FAN_IN} chunks are left. Merged chunks are replaced by
+     * their merge result in the given list, so that the caller deletes any chunk left.
+     */
+    private IntervalMapBuilder<C, V> merge(List<Path> chunks) throws IOException {
+        while (chunks.size() > MAX_FAN_IN) {
+            for (int i = 0; i < chunks.size(); i++) {
+                List<Path> group  = chunks.subList(i, Math.min(i + MAX_FAN_IN, chunks.size()));
+                Path       merged = writeChunk(sink -> mergeRows(group, row -> writeRow(sink, row)));
+                for (Path chunk : group) {
+                    Files.deleteIfExists(chunk);
+                }
+                group.clear();
+                chunks.add(i, merged);
+            }
+        }
+        IntervalMapBuilder<C, V> builder = new IntervalMapBuilder<>();
+        mergeRows(chunks, row -> builder.add(row.start,
+                                             pointParser.apply(row.fields[1]),
+                                             valueParser.apply(row.fields[2])));
+        return builder;
+    }
+
+    /**
+     * Passes the rows of the given sorted chunks to the given {@code consumer} in the order of their start points, and
+     * in the order of the chunks for equal start points.
+     */
+    private void mergeRows(List<Path> chunks, RowConsumer<C> consumer) throws IOException {
+        List<ChunkCursor>          cursors = new ArrayList<>();
+        PriorityQueue<ChunkCursor> queue   = new PriorityQueue<>(Math.max(1, chunks.size()),
+                                                                 Comparator.<ChunkCursor, C>comparing(cursor -> cursor.row.start)
+                                                                         .thenComparingInt(cursor -> cursor.index));
+        try {
+            for (Path chunk : chunks) {
+                ChunkCursor cursor = new ChunkCursor(cursors.size(), FileChannel.open(chunk, StandardOpenOption.READ));
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            while (!queue.isEmpty()) {
+                ChunkCursor cursor = queue.poll();
+                consumer.accept(cursor.row);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (ChunkCursor cursor : cursors) {
+                cursor.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a temporary chunk file filled by the given {@code writer}, which is deleted if writing fails.
+     */
+    private static Path writeChunk(ChunkWriter writer) throws IOException {
+        Path chunk = Files.createTempFile("timeline-import", ".chunk");
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.WRITE)) {
+            ByteSink sink = new ByteSink(channel);
+            writer.write(sink);
+            sink.flush();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(chunk);
+            throw e;
+        }
+        return chunk;
+    }
+
+    private static void writeRow(ByteSink sink, Row<?> row) throws IOException {
+        for (String field : row.fields) {
+            sink.writeBytes(field.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private interface ChunkWriter {
+        void write(ByteSink sink) throws IOException;
+    }
+
+    private interface RowConsumer<C> {
+        void accept(Row<C> row) throws IOException;
+    }
+
+    private static final class Row<C> {
+        final C        start;
+        final String[] fields;
+
+        Row(C start, String[] fields) {
+            this.start = start;
+            this.fields = fields;
+        }
+    }
+
+    private final class ChunkCursor {
+        final int         index;
+        final FileChannel channel;
+        final ByteSource  source;
+        Row<C>            row;
+
+        ChunkCursor(int index, FileChannel channel) {
+            this.index = index;
+            this.channel = channel;
+            source = new ByteSource(channel);
+        }
+
+        boolean advance() throws IOException {
+            String start;
+            try {
+                start = readField();
+            } catch (EOFException e) {
+                row = null;
+                return false;
+            }
+            String[] fields = {start, readField(), readField()};
+            row = new Row<>(pointParser.apply(start), fields);
+            return true;
+        }
+
+        private String readField() throws IOException {
+            return new String(source.readBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads lines of a file and splits them into {@code start}, {@code end} and {@code value} fields.
+     */
+    private static final class RowReader implements AutoCloseable {
+        private static final String[] JSON_MEMBERS = {"start", "end", "value"};
+
+        private final BufferedReader reader;
+        private final Format         format;
+        private       long           lineNumber;
+
+        RowReader(Path file, Format format) throws IOException {
+            this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            this.format = format;
+            if (format == Format.CSV_WITH_HEADER) {
+                reader.readLine();
+                lineNumber++;
+            }
+        }
+
+        /**
+         * Returns fields of the next row, or {@code null} at the end of the file.
+         */
+        String[] read() throws IOException {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (!line.trim().isEmpty()) {
+                    try {
+                        return (format == Format.JSON_LINES) ? parseJson(line) : parseCsv(line);
+                    } catch (IllegalArgumentException e) {
+                        throw malformed(e);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns an exception reporting the given {@code cause} at the last line read.
+         */
+        IllegalArgumentException malformed(RuntimeException cause) {
+            return new IllegalArgumentException("malformed line " + lineNumber + ": " + cause.getMessage(), cause);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private static String[] parseCsv(String line) {
+            List<String>  fields = new ArrayList<>(3);
+            StringBuilder field  = new StringBuilder();
+            int           i      = 0;
+            while (true) {
+                while ((i < line.length()) && (line.charAt(i) == ' ')) {
+                    i++;
+                }
+                if ((i < line.length()) && (line.charAt(i) == '"')) {
+                    i++;
+                    while (true) {
+                        if (i >= line.length()) {
+                            throw new IllegalArgumentException("unterminated quoted field");
+                        }
+                        char c = line.charAt(i++);
+                        if (c != '"') {
+                            field.append(c);
+                        } else if ((i < line.length()) && (line.charAt(i) == '"')) {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    while ((i < line.length()) && (line.charAt(i) != ',')) {
+                        i++;
+                    }
+                    fields.add(field.toString());
+                } else {
+                    int comma = line.indexOf(',', i);
+                    int end   = (comma < 0) ? line.length() : comma;
+                    fields.add(line.substring(i, end).trim());
+                    i = end;
+                }
+                field.setLength(0);
+                if (i >= line.length()) {
+                    break;
+                }
+                i++; // skip the comma
+            }
+            if (fields.size() != 3) {
+                throw new IllegalArgumentException("expected 3 fields, but found " + fields.size());
+            }
+            return fields.toArray(new String[3]);
+        }
+
+        private static String[] parseJson(String line) {
+            String[]      fields = new String[3];
+            StringBuilder token  = new StringBuilder();
+            int           i      = skipSpaces(line, 0);
+            i = expect(line, i, '{');
+            i = skipSpaces(line, i);
+            if ((i < line.length()) && (line.charAt(i) == '}')) {
+                i++;
+            } else {
+                while (true) {
+                    i = skipSpaces(line, i);
+                    i = readJsonString(line, i, token);
+                    String name = token.toString();
+                    i = expect(line, skipSpaces(line, i), ':');
+                    i = skipSpaces(line, i);
+                    if ((i < line.length()) && (line.charAt(i) == '"')) {
+                        i = readJsonString(line, i, token);
+                    } else {
+                        token.setLength(0);
+                        while ((i < line.length()) && (",}".indexOf(line.charAt(i)) < 0)) {
+                            char c = line.charAt(i++);
+                            if ((c == '{') || (c == '[')) {
+                                throw new IllegalArgumentException("nested values are not supported: " + name);
+                            }
+                            token.append(c);
+                        }
+                        if ((token.length() > 0) && token.toString().trim().equals("null")) {
+                            token.setLength(0);
+                        }
+                    }
+                    String value = token.toString().trim();
+                    for (int k = 0; k < JSON_MEMBERS.length; k++) {
+                        if (JSON_MEMBERS[k].equals(name)) {
+                            fields[k] = value;
+                        }
+                    }
+                    i = skipSpaces(line, i);
+                    if ((i < line.length()) && (line.charAt(i) == ',')) {
+                        i++;
+                    } else {
+                        i = expect(line, i, '}');
+                        break;
+                    }
+                }
+            }
+            if (skipSpaces(line, i) != line.length()) {
+                throw new IllegalArgumentException("unexpected content after the object");
+            }
+            for (int k = 0; k < fields.length; k++) {
+                if (fields[k] == null) {
+                    throw new IllegalArgumentException("missing member: " + JSON_MEMBERS[k]);
+                }
+            }
+            return fields;
+        }
+
+        private static int readJsonString(String line, int i, StringBuilder output) {
+            output.setLength(0);
+            i = expect(line, i, '"');
+            while (true) {
+                if (i >= line.length()) {
+                    throw new IllegalArgumentException("unterminated string");
+                }
+                char c = line.charAt(i++);
+                if (c == '"') {
+                    return i;
+                }
+                if (c != '\\') {
+                    output.append(c);
+                } else if (i < line.length()) {
+                    char escaped = line.charAt(i++);
+                    switch (escaped) {
+                        case 'b':
+                            output.append('\b');
+                            break;
+                        case 'f':
+                            output.append('\f');
+                            break;
+                        case 'n':
+                            output.append('\n');
+                            break;
+                        case 'r':
+                            output.append('\r');
+                            break;
+                        case 't':
+                            output.append('\t');
+                            break;
+                        case 'u':
+                            if ((i + 4) > line.length()) {
+                                throw new IllegalArgumentException("truncated unicode escape");
+                            }
+                            output.append((char) Integer.parseInt(line.substring(i, i + 4), 16));
+                            i += 4;
+                            break;
+                        default:
+                            output.append(escaped);
+                            break;
+                    }
+                }
+            }
+        }
+
+        private static int skipSpaces(String line, int i) {
+            while ((i < line.length()) && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+
+        private static int expect(String line, int i, char expected) {
+            if ((i >= line.length()) || (line.charAt(i) != expected)) {
+                throw new IllegalArgumentException("expected '" + expected + "' at column " + (i + 1));
+            }
+            return i + 1;
+        }
+    }
+}
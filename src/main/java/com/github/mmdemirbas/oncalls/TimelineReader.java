@@ -0,0 +1,101 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams interval map entries from the binary format described in {@link TimelineCodec}.
+ * <p>
+ * Entries with identical value-sets share the same immutable list instance.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class TimelineReader<C extends Comparable<? super C>, V> {
+    private final ByteSource    source;
+    private final TimeAxis<C>   timeAxis;
+    private final ValueCodec<V> valueCodec;
+    private final List<V>       values;
+    private final List<List<V>> valueSets;
+    private       int           runRemaining;
+    private       long          runDelta;
+    private       long          lastKey;
+    private       boolean       finished;
+
+    TimelineReader(ByteSource source, TimeAxis<C> timeAxis, ValueCodec<V> valueCodec) throws IOException {
+        this.source = requireNonNull(source, "source");
+        this.timeAxis = requireNonNull(timeAxis, "timeAxis");
+        this.valueCodec = requireNonNull(valueCodec, "valueCodec");
+        values = new ArrayList<>();
+        valueSets = new ArrayList<>();
+
+        int magic = source.readInt();
+        if (magic != TimelineCodec.MAGIC) {
+            throw new IOException(String.format("not a timeline stream, unexpected magic: %08x", magic));
+        }
+        int version = source.readVarInt();
+        if (version != TimelineCodec.VERSION) {
+            throw new IOException("unsupported timeline format version: " + version);
+        }
+    }
+
+    /**
+     * Returns the next interval map entry, or {@code null} if the end record is reached.
+     */
+    public Entry<C, List<V>> read() throws IOException {
+        while (!finished && (runRemaining == 0)) {
+            readRecord();
+        }
+        if (finished) {
+            return null;
+        }
+        List<V> valueSet = valueSetAt(source.readVarInt());
+        lastKey += runDelta;
+        runRemaining--;
+        return new SimpleImmutableEntry<>(timeAxis.fromLong(lastKey), valueSet);
+    }
+
+    private void readRecord() throws IOException {
+        int record = source.readVarInt();
+        switch (record) {
+            case TimelineCodec.END_RECORD:
+                finished = true;
+                break;
+            case TimelineCodec.VALUE_RECORD:
+                values.add(valueCodec.decode(source.readBytes()));
+                break;
+            case TimelineCodec.VALUE_SET_RECORD:
+                int size = source.readVarInt();
+                Object[] valueSet = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    valueSet[i] = valueAt(source.readVarInt());
+                }
+                valueSets.add(ImmutableList.wrap(valueSet, size));
+                break;
+            case TimelineCodec.RUN_RECORD:
+                runDelta = source.readZigZag();
+                runRemaining = source.readVarInt();
+                break;
+            default:
+                throw new IOException("unknown record type: " + record);
+        }
+    }
+
+    private V valueAt(int id) throws IOException {
+        if ((id < 0) || (id >= values.size())) {
+            throw new IOException("undefined value: " + id);
+        }
+        return values.get(id);
+    }
+
+    private List<V> valueSetAt(int id) throws IOException {
+        if ((id < 0) || (id >= valueSets.size())) {
+            throw new IOException("undefined value-set: " + id);
+        }
+        return valueSets.get(id);
+    }
+}
@@ -2,10 +2,14 @@ package com.github.mmdemirbas.oncalls;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 
 import static com.github.mmdemirbas.oncalls.Utils.orEmpty;
 import static java.util.Collections.emptyList;
@@ -17,11 +21,24 @@ import static java.util.Objects.requireNonNull;
 public interface TimelineSegment<C extends Comparable<? super C>, V> {
     /**
      * Merges this and other {@code segments} into one {@link TimelineSegment} using the provided {@code mergeFunction}.
+     * <p>
+     * The {@code mergeFunction} must be a pure function of its arguments: it is not called again at a key point where
+     * both sides have the very same value list instances as at the previous key point.
      *
      * @param <A> value type of the other segments
      */
     default <A> TimelineSegment<C, V> mergeWith(List<TimelineSegment<C, A>> segments,
                                                 BiFunction<List<V>, List<A>, List<V>> mergeFunction) {
+        return mergeWith(segments, MergeFunction.of(mergeFunction));
+    }
+
+    /**
+     * Merges this and other {@code segments} into one {@link TimelineSegment} using the provided {@code mergeFunction}.
+     *
+     * @param <A> value type of the other segments
+     */
+    default <A> TimelineSegment<C, V> mergeWith(List<TimelineSegment<C, A>> segments,
+                                                MergeFunction<V, A> mergeFunction) {
         TimelineSegment<C, V> result = this;
         for (TimelineSegment<C, A> segment : requireNonNull(segments, "segments")) {
             result = result.mergeWith(segment, mergeFunction);
@@ -31,13 +48,28 @@ public interface TimelineSegment<C extends Comparable<? super C>, V> {
 
     default <A> TimelineSegment<C, V> mergeWith(TimelineSegment<C, A> segment,
                                                 BiFunction<List<V>, List<A>, List<V>> mergeFunction) {
+        return mergeWith(segment, MergeFunction.of(mergeFunction));
+    }
+
+    /**
+     * Merges this and the other {@code segment} into one {@link TimelineSegment} using the provided
+     * {@code mergeFunction}, which writes into a buffer reused across key points. The merge function is not called
+     * again at a key point where both sides have the very same value list instances as at the previous key point.
+     *
+     * @param <A> value type of the other segment
+     */
+    default <A> TimelineSegment<C, V> mergeWith(TimelineSegment<C, A> segment, MergeFunction<V, A> mergeFunction) {
         requireNonNull(segment, "segment");
         requireNonNull(mergeFunction, "mergeFunction");
 
-        List<ValuedRange<C, V>> intervals = new ArrayList<>();
-        List<V>                 values    = emptyList();
-        C                       start     = null;
-        C                       end       = null;
+        List<ValuedRange<C, V>> intervals  = new ArrayList<>();
+        ValueSetDictionary<V>   dictionary = new ValueSetDictionary<>();
+        List<V>                 buffer     = new ArrayList<>();
+        List<V>                 values     = emptyList();
+        List<V>                 lastMine   = null;
+        List<A>                 lastTheirs = null;
+        C                       start      = null;
+        C                       end        = null;
 
         Set<C> sorted = new TreeSet<>();
         sorted.addAll(getKeyPoints());
@@ -47,10 +79,19 @@ public interface TimelineSegment<C extends Comparable<? super C>, V> {
 
         for (C point : sorted) {
             end = point;
-            List<V> myValues     = findCurrentValues(point);
-            List<A> theirValues  = segment.findCurrentValues(point);
-            List<V> mergedValues = mergeFunction.apply(orEmpty(myValues), orEmpty(theirValues));
-            if (!values.equals(mergedValues)) {
+            List<V> myValues    = orEmpty(findCurrentValues(point));
+            List<A> theirValues = orEmpty(segment.findCurrentValues(point));
+            if ((myValues == lastMine) && (theirValues == lastTheirs)) {
+                continue;
+            }
+            lastMine = myValues;
+            lastTheirs = theirValues;
+
+            // interned lists are equal if and only if they are the same instance
+            buffer.clear();
+            boolean changed      = mergeFunction.merge(myValues, theirValues, buffer);
+            List<V> mergedValues = dictionary.intern(changed ? buffer : myValues);
+            if (values != mergedValues) {
                 if (!values.isEmpty()) {
                     Range<C> range = Range.of(start, end);
                     values.forEach(value -> intervals.add(ValuedRange.of(range, value)));
@@ -67,6 +108,82 @@ public interface TimelineSegment<C extends Comparable<? super C>, V> {
         return newSegment(intervals);
     }
 
+    /**
+     * Merges this and the other {@code segment} like {@link #mergeWith(TimelineSegment, MergeFunction)}, but splits
+     * the combined key points into time slices merged in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param <A> value type of the other segment
+     */
+    default <A> TimelineSegment<C, V> mergeWithInParallel(TimelineSegment<C, A> segment,
+                                                          MergeFunction<V, A> mergeFunction) {
+        return mergeWithInParallel(segment, mergeFunction, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merges this and the other {@code segment} like {@link #mergeWith(TimelineSegment, MergeFunction)}, but splits
+     * the combined key points into time slices merged in parallel on the given {@code pool}. Runs of the same values
+     * meeting at slice boundaries are coalesced, so the result has the same intervals and the same values in each of
+     * them as of the sequential merge, but each value list is in the order produced by the {@code mergeFunction}
+     * rather than in the order of the sequential merge. Both segments must support concurrent reads, and the
+     * {@code mergeFunction} must be thread-safe. Small segments are merged sequentially.
+     *
+     * @param <A> value type of the other segment
+     */
+    default <A> TimelineSegment<C, V> mergeWithInParallel(TimelineSegment<C, A> segment,
+                                                          MergeFunction<V, A> mergeFunction,
+                                                          ForkJoinPool pool) {
+        return ParallelMerge.merge(this, segment, mergeFunction, pool);
+    }
+
+    /**
+     * Returns a view of the merge of this and the other {@code segment}, which calls the {@code mergeFunction} only for
+     * the regions queried, and computes the whole merged interval map only when {@link #toIntervalMap()} or
+     * {@link #getKeyPoints()} is called. The returned segment is not thread-safe.
+     *
+     * @param <A> value type of the other segment
+     */
+    default <A> TimelineSegment<C, V> mergeLazilyWith(TimelineSegment<C, A> segment,
+                                                      MergeFunction<V, A> mergeFunction) {
+        return new LazyMergedSegment<>(this, segment, mergeFunction);
+    }
+
+    /**
+     * Returns a copy of this segment with all key points moved by the given {@code snap} function, such as
+     * {@link TimeAxis#snapToGrid(long)}, coalescing adjacent intervals which end up with equal values in a single pass.
+     * <p>
+     * The {@code snap} function must be monotone. The error is bounded by how far it moves a point: each change of
+     * values happens at the snapped point instead of the original one, and intervals shorter than a grid step may
+     * vanish, in which case the values of the latest interval snapped to a point take effect from that point.
+     *
+     * @throws IllegalArgumentException if {@code snap} doesn't preserve the order of the key points
+     */
+    default TimelineSegment<C, V> quantize(UnaryOperator<C> snap) {
+        requireNonNull(snap, "snap");
+        NavigableMap<C, List<V>> intervalMap = new TreeMap<>();
+        List<V>                  lastValues  = emptyList();
+        C                        pendingKey  = null;
+        List<V>                  pending     = null;
+        for (Entry<C, List<V>> entry : toIntervalMap().entrySet()) {
+            C point = requireNonNull(snap.apply(entry.getKey()), "snapped point");
+            if (pendingKey != null) {
+                int order = point.compareTo(pendingKey);
+                if (order < 0) {
+                    throw new IllegalArgumentException("snap function doesn't preserve order at: " + entry.getKey());
+                }
+                if ((order > 0) && !pending.equals(lastValues)) {
+                    intervalMap.put(pendingKey, pending);
+                    lastValues = pending;
+                }
+            }
+            pendingKey = point;
+            pending = entry.getValue();
+        }
+        if ((pendingKey != null) && !pending.equals(lastValues)) {
+            intervalMap.put(pendingKey, pending);
+        }
+        return StaticTimeline.ofIntervalMap(intervalMap);
+    }
+
     /**
      * Creates a new {@link TimelineSegment} instance from the given {@code intervals}.
      */
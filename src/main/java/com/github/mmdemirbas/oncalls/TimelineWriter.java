@@ -0,0 +1,120 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams interval map entries in the binary format described in {@link TimelineCodec}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class TimelineWriter<C extends Comparable<? super C>, V> {
+    private static final int MAX_RUN_LENGTH = 4096;
+
+    private final ByteSink              sink;
+    private final TimeAxis<C>           timeAxis;
+    private final ValueCodec<V>         valueCodec;
+    private final Map<V, Integer>       valueIds;
+    private final Map<List<V>, Integer> valueSetIds;
+    private final int[]                 runValueSetIds;
+    private       int                   runLength;
+    private       long                  runDelta;
+    private       long                  lastKey;
+    private       boolean               started;
+    private       boolean               finished;
+
+    TimelineWriter(ByteSink sink, TimeAxis<C> timeAxis, ValueCodec<V> valueCodec) throws IOException {
+        this.sink = requireNonNull(sink, "sink");
+        this.timeAxis = requireNonNull(timeAxis, "timeAxis");
+        this.valueCodec = requireNonNull(valueCodec, "valueCodec");
+        valueIds = new HashMap<>();
+        valueSetIds = new HashMap<>();
+        runValueSetIds = new int[MAX_RUN_LENGTH];
+        sink.writeInt(TimelineCodec.MAGIC);
+        sink.writeVarInt(TimelineCodec.VERSION);
+    }
+
+    /**
+     * Appends an interval map entry. Points must be written in strictly ascending order.
+     */
+    public void write(C point, List<V> values) throws IOException {
+        requireNonNull(point, "point");
+        requireNonNull(values, "values");
+        if (finished) {
+            throw new IllegalStateException("writer is already finished");
+        }
+
+        long key = timeAxis.toLong(point);
+        if (started && (key <= lastKey)) {
+            throw new IllegalArgumentException(String.format("points must be strictly ascending: %s", point));
+        }
+        long delta = key - lastKey;
+        int  id    = valueSetIdOf(values);
+
+        if ((runLength > 0) && ((delta != runDelta) || (runLength == MAX_RUN_LENGTH))) {
+            flushRun();
+        }
+        runDelta = delta;
+        runValueSetIds[runLength++] = id;
+        lastKey = key;
+        started = true;
+    }
+
+    /**
+     * Writes the end record and flushes all buffered bytes to the underlying channel, which is not closed.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            flushRun();
+            sink.writeVarInt(TimelineCodec.END_RECORD);
+            sink.flush();
+            finished = true;
+        }
+    }
+
+    private int valueSetIdOf(List<V> values) throws IOException {
+        Integer id = valueSetIds.get(values);
+        if (id == null) {
+            int[] valueIdsOfSet = new int[values.size()];
+            for (int i = 0; i < valueIdsOfSet.length; i++) {
+                valueIdsOfSet[i] = valueIdOf(values.get(i));
+            }
+            sink.writeVarInt(TimelineCodec.VALUE_SET_RECORD);
+            sink.writeVarInt(valueIdsOfSet.length);
+            for (int valueId : valueIdsOfSet) {
+                sink.writeVarInt(valueId);
+            }
+            id = valueSetIds.size();
+            valueSetIds.put(unmodifiableCopyOf(values), id);
+        }
+        return id;
+    }
+
+    private int valueIdOf(V value) throws IOException {
+        Integer id = valueIds.get(value);
+        if (id == null) {
+            sink.writeVarInt(TimelineCodec.VALUE_RECORD);
+            sink.writeBytes(valueCodec.encode(value));
+            id = valueIds.size();
+            valueIds.put(value, id);
+        }
+        return id;
+    }
+
+    private void flushRun() throws IOException {
+        if (runLength > 0) {
+            sink.writeVarInt(TimelineCodec.RUN_RECORD);
+            sink.writeZigZag(runDelta);
+            sink.writeVarInt(runLength);
+            for (int i = 0; i < runLength; i++) {
+                sink.writeVarInt(runValueSetIds[i]);
+            }
+            runLength = 0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A hierarchical timing wheel which keeps tasks scheduled at {@code long} ticks and expires them as the time advances.
+ * <p>
+ * Each level has {@value #SLOTS} slots, and a slot of level {@code L} spans {@code SLOTS^L} ticks. A task is placed
+ * on the lowest level whose span covers the distance between the current tick and its deadline, and moved down
+ * level by level as the time approaches. Scheduling is {@code O(1)}, and each task is moved at most once per level.
+ * Advancing skips over empty stretches of time, so it doesn't iterate tick by tick when the lower levels are empty.
+ * <p>
+ * Ticks are expected to be non-negative. This class is mutable and not thread-safe.
+ */
+final class TimingWheel<T> {
+    private static final int BITS   = 6;
+    private static final int SLOTS  = 1 << BITS;
+    private static final int MASK   = SLOTS - 1;
+    private static final int LEVELS = (Long.SIZE + BITS - 1) / BITS;
+
+    private final List<List<Task<T>>> slots;
+    private final int[]               levelSizes;
+    private final Deque<Task<T>>      expired;
+    private       long                currentTick;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+        slots = new ArrayList<>(LEVELS * SLOTS);
+        for (int i = 0; i < (LEVELS * SLOTS); i++) {
+            slots.add(new ArrayList<>());
+        }
+        levelSizes = new int[LEVELS];
+        expired = new ArrayDeque<>();
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        int size = expired.size();
+        for (int levelSize : levelSizes) {
+            size += levelSize;
+        }
+        return size;
+    }
+
+    /**
+     * Schedules the given {@code task} to be expired at the specified {@code deadline}. A deadline not after the
+     * current tick expires the task at the next call to {@link #advanceTo(long, Consumer)}.
+     */
+    void schedule(long deadline, T task) {
+        place(new Task<>(deadline, requireNonNull(task, "task")));
+    }
+
+    /**
+     * Advances the current tick to the specified {@code tick} and passes each expired task to the given
+     * {@code consumer} in the order of their deadlines. Tasks scheduled by the {@code consumer} itself are expired in
+     * the same call if their deadlines are already reached.
+     */
+    void advanceTo(long tick, Consumer<? super T> consumer) {
+        requireNonNull(consumer, "consumer");
+        drainExpired(consumer);
+        while (currentTick < tick) {
+            currentTick = nextTickOfInterest(tick);
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if (isBoundaryOf(level, currentTick)) {
+                    cascade(level);
+                }
+            }
+            cascade(0);
+            drainExpired(consumer);
+        }
+    }
+
+    private long nextTickOfInterest(long tick) {
+        for (int level = 0; level < LEVELS; level++) {
+            if (levelSizes[level] > 0) {
+                int  shift    = BITS * level;
+                long boundary = ((currentTick >>> shift) + 1) << shift;
+                return ((boundary <= currentTick) || (boundary > tick)) ? tick : boundary;
+            }
+        }
+        return tick;
+    }
+
+    private static boolean isBoundaryOf(int level, long tick) {
+        long mask = (1L << (BITS * level)) - 1;
+        return (tick & mask) == 0;
+    }
+
+    private void cascade(int level) {
+        List<Task<T>> slot = slots.get(slotIndex(level, currentTick));
+        if (!slot.isEmpty()) {
+            List<Task<T>> tasks = new ArrayList<>(slot);
+            slot.clear();
+            levelSizes[level] -= tasks.size();
+            tasks.forEach(this::place);
+        }
+    }
+
+    private void place(Task<T> task) {
+        if (task.deadline <= currentTick) {
+            expired.add(task);
+        } else {
+            int level = (63 - Long.numberOfLeadingZeros(task.deadline ^ currentTick)) / BITS;
+            slots.get(slotIndex(level, task.deadline)).add(task);
+            levelSizes[level]++;
+        }
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return (level * SLOTS) + (int) ((tick >>> (BITS * level)) & MASK);
+    }
+
+    private void drainExpired(Consumer<? super T> consumer) {
+        while (!expired.isEmpty()) {
+            consumer.accept(expired.poll().task);
+        }
+    }
+
+    private static final class Task<T> {
+        final long deadline;
+        final T    task;
+
+        Task(long deadline, T task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+}
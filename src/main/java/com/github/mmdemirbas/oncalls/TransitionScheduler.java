@@ -0,0 +1,157 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+import static com.github.mmdemirbas.oncalls.Utils.orEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Notifies a listener about the transitions of many {@link Timeline}s without polling them.
+ * <p>
+ * Each timeline is evaluated on a look-ahead window, and only its next key point is placed in a hierarchical
+ * {@link TimingWheel}. When the time advances past that point, the listener receives a {@link HandoffEvent} and the
+ * timeline is re-armed by asking only for its following key point. A new window is evaluated whenever the time
+ * reaches the end of the current one.
+ * <p>
+ * Time points are mapped to wheel ticks by the {@code ticksOf} function, which must be monotonic and non-negative for
+ * the time points of interest. A transition fires as soon as the wheel reaches its tick, so the tick resolution
+ * should not be coarser than the resolution required for notifications.
+ * <p>
+ * This class is mutable and not thread-safe. It doesn't start any thread; the caller drives the time by calling
+ * {@link #advanceTo(Comparable)}, for example from a periodic task.
+ *
+ * @param <K> type of the timeline identifiers
+ */
+public final class TransitionScheduler<K, C extends Comparable<? super C>, V> {
+    private final ToLongFunction<? super C>               ticksOf;
+    private final UnaryOperator<C>                        windowEndOf;
+    private final Consumer<? super HandoffEvent<K, C, V>> listener;
+    private final TimingWheel<Registration<K, C, V>>      wheel;
+    private final Map<K, Registration<K, C, V>>           registrations;
+    private       C                                       now;
+
+    /**
+     * Creates a scheduler starting at the specified {@code now}.
+     *
+     * @param ticksOf     maps time points to ticks of the timing wheel
+     * @param windowEndOf returns end of the look-ahead window starting at a given point, must be after the point
+     * @param listener    receives transitions of all scheduled timelines
+     */
+    public static <K, C extends Comparable<? super C>, V> TransitionScheduler<K, C, V> of(ToLongFunction<? super C> ticksOf,
+                                                                                         UnaryOperator<C> windowEndOf,
+                                                                                         C now,
+                                                                                         Consumer<? super HandoffEvent<K, C, V>> listener) {
+        return new TransitionScheduler<>(ticksOf, windowEndOf, now, listener);
+    }
+
+    private TransitionScheduler(ToLongFunction<? super C> ticksOf,
+                                UnaryOperator<C> windowEndOf,
+                                C now,
+                                Consumer<? super HandoffEvent<K, C, V>> listener) {
+        this.ticksOf = requireNonNull(ticksOf, "ticksOf");
+        this.windowEndOf = requireNonNull(windowEndOf, "windowEndOf");
+        this.now = requireNonNull(now, "now");
+        this.listener = requireNonNull(listener, "listener");
+        this.wheel = new TimingWheel<>(ticksOf.applyAsLong(now));
+        this.registrations = new HashMap<>();
+    }
+
+    public C getNow() {
+        return now;
+    }
+
+    /**
+     * Starts watching transitions of the specified {@code timeline} after the current time, replacing any timeline
+     * previously scheduled with the same {@code id}.
+     */
+    public void schedule(K id, Timeline<C, V> timeline) {
+        Registration<K, C, V> registration = new Registration<>(id, requireNonNull(timeline, "timeline"));
+        Registration<K, C, V> previous     = registrations.put(id, registration);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        registration.values = orEmpty(registration.windowAt(now, windowEndOf).findCurrentValues(now));
+        arm(registration);
+    }
+
+    /**
+     * Stops watching transitions of the timeline scheduled with the specified {@code id}.
+     */
+    public void cancel(K id) {
+        Registration<K, C, V> registration = registrations.remove(id);
+        if (registration != null) {
+            registration.cancelled = true;
+        }
+    }
+
+    /**
+     * Advances the current time to the specified {@code point}, and notifies the listener about every transition up to
+     * that point in the order of time.
+     */
+    public void advanceTo(C point) {
+        requireNonNull(point, "point");
+        if (point.compareTo(now) < 0) {
+            throw new IllegalArgumentException(String.format("time can't go backwards: %s < %s", point, now));
+        }
+        now = point;
+        wheel.advanceTo(ticksOf.applyAsLong(point), this::fire);
+    }
+
+    private void fire(Registration<K, C, V> registration) {
+        if (registration.cancelled) {
+            return;
+        }
+        C                     point  = registration.nextPoint;
+        List<V>               values = orEmpty(registration.windowAt(point, windowEndOf).findCurrentValues(point));
+        HandoffEvent<K, C, V> event  = HandoffEvent.between(point, registration.id, registration.values, values);
+        registration.values = values;
+        arm(registration);
+        if (event != null) {
+            listener.accept(event);
+        }
+    }
+
+    private void arm(Registration<K, C, V> registration) {
+        C from = (registration.nextPoint == null) ? now : registration.nextPoint;
+        C next = registration.windowAt(from, windowEndOf).toIntervalMap().higherKey(from);
+        registration.nextPoint = (next == null) ? registration.windowEnd : next;
+        wheel.schedule(ticksOf.applyAsLong(registration.nextPoint), registration);
+    }
+
+    private static final class Registration<K, C extends Comparable<? super C>, V> {
+        final K               id;
+        final Timeline<C, V>  timeline;
+        TimelineSegment<C, V> window;
+        C                     windowEnd;
+        C                     nextPoint;
+        List<V>               values;
+        boolean               cancelled;
+
+        Registration(K id, Timeline<C, V> timeline) {
+            this.id = id;
+            this.timeline = timeline;
+        }
+
+        /**
+         * Returns the evaluated window containing the specified {@code point}, evaluating a new one starting from the
+         * point if necessary.
+         */
+        TimelineSegment<C, V> windowAt(C point, UnaryOperator<C> windowEndOf) {
+            if ((window == null) || (point.compareTo(windowEnd) >= 0)) {
+                windowEnd = requireNonNull(windowEndOf.apply(point), "windowEnd");
+                if (windowEnd.compareTo(point) <= 0) {
+                    throw new IllegalArgumentException(String.format("window end must be after its start: %s <= %s",
+                                                                     windowEnd,
+                                                                     point));
+                }
+                window = timeline.toSegment(Range.of(point, windowEnd));
+            }
+            return window;
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package com.github.mmdemirbas.oncalls;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
 import static java.util.Collections.emptyList;
@@ -27,10 +24,15 @@ public final class UnionTimeline<C extends Comparable<? super C>, V> implements
     @Override
     public TimelineSegment<C, V> toSegment(Range<C> calculationRange) {
         Timeline<C, V> seed = StaticTimeline.ofIntervals(emptyList());
-        return seed.mergeWith(timelines,
-                              calculationRange,
-                              (thisValues, otherValues) -> Stream.of(thisValues, otherValues)
-                                                                 .flatMap(Collection::stream)
-                                                                 .collect(Collectors.toList()));
+        return seed.mergeWith(timelines, calculationRange, UnionTimeline::concat);
+    }
+
+    private static <V> boolean concat(List<V> values, List<V> others, List<V> output) {
+        if (others.isEmpty()) {
+            return false;
+        }
+        output.addAll(values);
+        output.addAll(others);
+        return true;
     }
 }
@@ -1,10 +1,8 @@
 package com.github.mmdemirbas.oncalls;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
-import static java.util.Collections.unmodifiableList;
 
 final class Utils {
     static <V> List<V> orEmpty(List<V> list) {
@@ -12,6 +10,6 @@ final class Utils {
     }
 
     static <V> List<V> unmodifiableCopyOf(List<? extends V> input) {
-        return ((input == null) || input.isEmpty()) ? emptyList() : unmodifiableList(new ArrayList<>(input));
+        return ImmutableList.copyOf(input);
     }
 }
@@ -0,0 +1,41 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Converts values to and from their binary representation. Used by the binary timeline formats which store each
+ * distinct value only once.
+ *
+ * @param <T> type of the values
+ */
+public interface ValueCodec<T> {
+    byte[] encode(T value);
+
+    T decode(byte[] bytes);
+
+    static <T> ValueCodec<T> of(Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        requireNonNull(encoder, "encoder");
+        requireNonNull(decoder, "decoder");
+        return new ValueCodec<T>() {
+            @Override
+            public byte[] encode(T value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public T decode(byte[] bytes) {
+                return decoder.apply(bytes);
+            }
+        };
+    }
+
+    /**
+     * Returns a codec which encodes strings in UTF-8.
+     */
+    static ValueCodec<String> utf8() {
+        return of(value -> value.getBytes(StandardCharsets.UTF_8), bytes -> new String(bytes, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mmdemirbas.oncalls;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Collections.emptyList;
+
+/**
+ * Interns value lists of an interval map, so that equal value lists share a single unmodifiable instance and can be
+ * compared by identity.
+ * <p>
+ * Rotations produce the same few value lists at many key points; a dictionary per built interval map keeps one copy
+ * of each distinct list instead of one copy per key point.
+ * <p>
+ * This class is mutable and not thread-safe.
+ *
+ * @param <V> type of the values
+ */
+final class ValueSetDictionary<V> {
+    private final Map<List<V>, List<V>> valueSets = new HashMap<>();
+
+    /**
+     * Returns the unmodifiable instance equal to the given {@code values}. On the first occurrence, an
+     * {@link ImmutableList} or a {@link RosterSet} is kept as is, and any other list is copied, so that the caller may
+     * modify it afterwards.
+     */
+    List<V> intern(List<? extends V> values) {
+        if ((values == null) || values.isEmpty()) {
+            return emptyList();
+        }
+        @SuppressWarnings("unchecked") List<V> key      = (List<V>) values;
+        List<V>                                interned = valueSets.get(key);
+        if (interned == null) {
+            interned = ((values instanceof ImmutableList) || (values instanceof RosterSet))
+                       ? key
+                       : unmodifiableCopyOf(values);
+            valueSets.put(interned, interned);
+        }
+        return interned;
+    }
+
+    /**
+     * Returns number of distinct non-empty value lists interned so far.
+     */
+    int size() {
+        return valueSets.size();
+    }
+}
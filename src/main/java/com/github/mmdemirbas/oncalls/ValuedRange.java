@@ -4,16 +4,17 @@ import lombok.Value;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
-import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Function;
 
 import static com.github.mmdemirbas.oncalls.Utils.orEmpty;
-import static com.github.mmdemirbas.oncalls.Utils.unmodifiableCopyOf;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableNavigableMap;
 import static java.util.Objects.requireNonNull;
 
@@ -41,11 +42,41 @@ public final class ValuedRange<C extends Comparable<? super C>, V> {
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Returns a list of disjoint intervals sorted by start points, by joining intersecting, overlapping and successive
+     * intervals having equal values. Intervals of a value are joined even if intervals of other values interleave
+     * them. Empty intervals will not appear in the result set.
+     */
     public static <C extends Comparable<? super C>, V> List<ValuedRange<C, V>> toDisjointIntervals(Collection<ValuedRange<C, V>> intervals) {
-        return Range.toDisjointRanges(intervals,
-                                      (ValuedRange<C, V> interval) -> interval.getRange(),
-                                      (current, joining) -> Objects.equals(current.value, joining.value),
-                                      (range, joining) -> of(range, joining.value));
+        if ((intervals == null) || intervals.isEmpty()) {
+            return emptyList();
+        }
+
+        // runs are opened in the order of their start points, so that the output needs no sorting
+        List<Run<C, V>>   runs     = new ArrayList<>();
+        Map<V, Run<C, V>> openRuns = new HashMap<>();
+        for (ValuedRange<C, V> interval : Range.sortedByStart(intervals, ValuedRange::getRange)) {
+            Range<C> range = interval.range;
+            if (!range.isEmpty()) {
+                Run<C, V> run = openRuns.get(interval.value);
+                if ((run != null) && (run.end.compareTo(range.getStartInclusive()) >= 0)) {
+                    if (run.end.compareTo(range.getEndExclusive()) < 0) {
+                        run.end = range.getEndExclusive();
+                    }
+                } else {
+                    run = new Run<>(interval.value, range.getStartInclusive(), range.getEndExclusive());
+                    runs.add(run);
+                    openRuns.put(interval.value, run);
+                }
+            }
+        }
+
+        Object[] disjointIntervals = new Object[runs.size()];
+        for (int i = 0; i < disjointIntervals.length; i++) {
+            Run<C, V> run = runs.get(i);
+            disjointIntervals[i] = of(Range.of(run.start, run.end), run.value);
+        }
+        return ImmutableList.wrap(disjointIntervals, disjointIntervals.length);
     }
 
     /**
@@ -63,11 +94,12 @@ public final class ValuedRange<C extends Comparable<? super C>, V> {
 
         NavigableMap<C, List<V>> intervalMap   = new TreeMap<>();
         List<V>                  ongoingEvents = new ArrayList<>();
+        ValueSetDictionary<V>    dictionary    = new ValueSetDictionary<>();
 
         sorted.forEach(point -> {
             ongoingEvents.addAll(orEmpty(add.get(point)));
             ongoingEvents.removeAll(orEmpty(remove.get(point)));
-            intervalMap.put(point, unmodifiableCopyOf(ongoingEvents));
+            intervalMap.put(point, dictionary.intern(ongoingEvents));
         });
         return unmodifiableNavigableMap(intervalMap);
     }
@@ -85,4 +117,15 @@ public final class ValuedRange<C extends Comparable<? super C>, V> {
         return index;
     }
 
+    private static final class Run<C extends Comparable<? super C>, V> {
+        private final V value;
+        private final C start;
+        private       C end;
+
+        Run(V value, C start, C end) {
+            this.value = value;
+            this.start = start;
+            this.end = end;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class AggregateIndexTest {
+    @Test
+    void totalDuration_WholeRanges() {
+        AggregateIndex<Integer, String> index = buildIndex();
+        assertEquals(30, index.totalDuration("a", Range.of(0, 100)));
+        assertEquals(20, index.totalDuration("b", Range.of(0, 100)));
+        assertEquals(10, index.totalDuration("c", Range.of(0, 100)));
+    }
+
+    @Test
+    void totalDuration_ClippedRanges() {
+        AggregateIndex<Integer, String> index = buildIndex();
+        assertEquals(20, index.totalDuration("a", Range.of(5, 35)));
+        assertEquals(4, index.totalDuration("a", Range.of(12, 16)));
+        assertEquals(0, index.totalDuration("a", Range.of(20, 30)));
+        assertEquals(0, index.totalDuration("a", Range.of(15, 15)));
+        assertEquals(0, index.totalDuration("x", Range.of(0, 100)));
+    }
+
+    @Test
+    void countShifts() {
+        AggregateIndex<Integer, String> index = buildIndex();
+        assertEquals(2, index.countShifts("a", Range.of(0, 100)));
+        assertEquals(1, index.countShifts("a", Range.of(0, 30)));
+        assertEquals(0, index.countShifts("a", Range.of(20, 30)));
+        assertEquals(0, index.countShifts("a", Range.of(15, 15)));
+    }
+
+    @Test
+    void countHandoffs() {
+        AggregateIndex<Integer, String> index = buildIndex();
+        assertEquals(3, index.countHandoffs("a", Range.of(0, 100)));
+        assertEquals(2, index.countHandoffs("a", Range.of(15, 35)));
+        assertEquals(0, index.countHandoffs("a", Range.of(20, 30)));
+        assertEquals(2, index.countHandoffs("b", Range.of(0, 100)));
+    }
+
+    private static AggregateIndex<Integer, String> buildIndex() {
+        return AggregateIndex.of(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 20), "a"),
+                                                                   ValuedRange.of(Range.of(10, 30), "b"),
+                                                                   ValuedRange.of(Range.of(30, 40), "a"),
+                                                                   ValuedRange.of(Range.of(50, 60), "c"))),
+                                 (start, end) -> end - start);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static com.github.mmdemirbas.oncalls.TestUtils.timeline;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ConflictDetectorTest {
+    @Test
+    void findConflicts_NoConflict() {
+        assertConflicts(emptyList(),
+                        Range.of(0, 100),
+                        timeline(interval(0, 10, "a")),
+                        timeline(interval(10, 20, "a")),
+                        timeline(interval(0, 20, "b")));
+    }
+
+    @Test
+    void findConflicts_ChangingSetOfTimelines() {
+        assertConflicts(asList(Conflict.of("a", Range.of(5, 8), asList(0, 1)),
+                               Conflict.of("a", Range.of(8, 10), asList(0, 1, 2)),
+                               Conflict.of("a", Range.of(10, 12), asList(1, 2))),
+                        Range.of(0, 100),
+                        timeline(interval(0, 10, "a"), interval(10, 20, "b")),
+                        timeline(interval(5, 15, "a")),
+                        timeline(interval(8, 12, "a")));
+    }
+
+    @Test
+    void findConflicts_MultipleValues() {
+        assertConflicts(asList(Conflict.of("b", Range.of(2, 4), asList(0, 1)),
+                               Conflict.of("a", Range.of(1, 5), asList(0, 1))),
+                        Range.of(0, 100),
+                        timeline(interval(0, 5, "a"), interval(2, 4, "b")),
+                        timeline(interval(1, 6, "a"), interval(2, 4, "b")));
+    }
+
+    @Test
+    void findConflicts_ClippedByCalculationRange() {
+        assertConflicts(asList(Conflict.of("a", Range.of(3, 7), asList(0, 1))),
+                        Range.of(3, 7),
+                        timeline(interval(0, 10, "a")),
+                        timeline(interval(0, 10, "a")));
+    }
+
+    @Test
+    void findConflicts_DefersSegmentsUntilRead() {
+        Timeline<Integer, String>         timeline  = timeline(interval(0, 10, "a"));
+        List<Range<Integer>>              requested = new ArrayList<>();
+        Timeline<Integer, String>         counting  = range -> {
+            requested.add(range);
+            return timeline.toSegment(range);
+        };
+        Stream<Conflict<Integer, String>> conflicts = ConflictDetector.of(asList(counting, timeline))
+                                                                      .findConflicts(Range.of(0, 100));
+        assertEquals(emptyList(), requested);
+
+        assertEquals(Conflict.of("a", Range.of(0, 10), asList(0, 1)), conflicts.iterator().next());
+        assertEquals(asList(Range.of(0, 100)), requested);
+    }
+
+    @Test
+    void findConflicts_RejectsNullCalculationRange() {
+        ConflictDetector<Integer, String> detector = ConflictDetector.of(asList(timeline(interval(0, 10, "a"))));
+        assertThrows(NullPointerException.class, () -> detector.findConflicts(null));
+    }
+
+    @SafeVarargs
+    private static void assertConflicts(List<Conflict<Integer, String>> expected,
+                                        Range<Integer> calculationRange,
+                                        Timeline<Integer, String>... timelines) {
+        assertEquals(expected,
+                     ConflictDetector.of(asList(timelines))
+                                     .findConflicts(calculationRange)
+                                     .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static com.github.mmdemirbas.oncalls.TestUtils.timeline;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class CoverageGapDetectorTest {
+    @Test
+    void findGaps_FullyCovered() {
+        assertGaps(emptyList(), CoverageGapDetector.of(timeline(interval(0, 50, "a"), interval(50, 100, "b")), 1));
+    }
+
+    @Test
+    void findGaps_Uncovered() {
+        assertGaps(asList(interval(0, 10, 0), interval(30, 40, 0), interval(60, 100, 0)),
+                   CoverageGapDetector.of(timeline(interval(10, 30, "a"), interval(40, 60, "b")), 1));
+    }
+
+    @Test
+    void findGaps_NoTimelines() {
+        assertGaps(asList(interval(0, 100, 0)), CoverageGapDetector.of(emptyList(), 1));
+    }
+
+    @Test
+    void findGaps_AcrossTimelines() {
+        assertGaps(asList(interval(20, 30, 0)),
+                   CoverageGapDetector.of(asList(timeline(interval(0, 20, "a")), timeline(interval(30, 100, "b"))),
+                                          1));
+    }
+
+    @Test
+    void findGaps_BelowMinHeadcount() {
+        assertGaps(asList(interval(0, 10, 1), interval(20, 30, 1), interval(30, 40, 0), interval(50, 100, 1)),
+                   CoverageGapDetector.of(asList(timeline(interval(0, 30, "a"), interval(40, 100, "a")),
+                                                 timeline(interval(10, 20, "b"), interval(40, 50, "b"))), 2));
+    }
+
+    @Test
+    void findGaps_SameValueInMultipleTimelinesCountedOnce() {
+        assertGaps(asList(interval(0, 100, 1)),
+                   CoverageGapDetector.of(asList(timeline(interval(0, 100, "a")), timeline(interval(0, 100, "a"))),
+                                          2));
+    }
+
+    @Test
+    void findGaps_EarlyTermination() {
+        CoverageGapDetector<Integer, String> detector = CoverageGapDetector.of(timeline(interval(10, 20, "a"),
+                                                                                        interval(30, 40, "a")), 1);
+        assertEquals(interval(0, 10, 0), detector.findGaps(Range.of(0, 100)).findFirst().orElse(null));
+    }
+
+    @Test
+    void findGaps_DefersSegmentsUntilRead() {
+        Timeline<Integer, String>             timeline  = timeline(interval(10, 30, "a"));
+        List<Range<Integer>>                  requested = new ArrayList<>();
+        Timeline<Integer, String>             counting  = range -> {
+            requested.add(range);
+            return timeline.toSegment(range);
+        };
+        Stream<ValuedRange<Integer, Integer>> gaps      = CoverageGapDetector.of(counting, 1).findGaps(Range.of(0, 100));
+        assertEquals(emptyList(), requested);
+
+        assertEquals(interval(0, 10, 0), gaps.iterator().next());
+        assertEquals(asList(Range.of(0, 100)), requested);
+    }
+
+    @Test
+    void of_InvalidMinHeadcount() {
+        assertThrows(IllegalArgumentException.class, () -> CoverageGapDetector.of(timeline(), 0));
+    }
+
+    private static void assertGaps(List<ValuedRange<Integer, Integer>> expected,
+                                   CoverageGapDetector<Integer, String> detector) {
+        assertEquals(expected, detector.findGaps(Range.of(0, 100)).collect(Collectors.toList()));
+    }
+}
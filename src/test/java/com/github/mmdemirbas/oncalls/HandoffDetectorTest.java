@@ -0,0 +1,71 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static com.github.mmdemirbas.oncalls.TestUtils.mapOf;
+import static com.github.mmdemirbas.oncalls.TestUtils.pair;
+import static com.github.mmdemirbas.oncalls.TestUtils.timeline;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+final class HandoffDetectorTest {
+    @Test
+    void findHandoffs_SingleTimeline() {
+        assertHandoffs(asList(HandoffEvent.of(10, "x", asList("b"), asList("a")),
+                              HandoffEvent.of(20, "x", emptyList(), asList("b")),
+                              HandoffEvent.of(30, "x", asList("a"), emptyList())),
+                       mapOf(pair("x", timeline(interval(0, 10, "a"), interval(10, 20, "b"), interval(30, 100, "a")))));
+    }
+
+    @Test
+    void findHandoffs_GlobalTimeOrder() {
+        assertHandoffs(asList(HandoffEvent.of(10, "x", asList("b"), asList("a")),
+                              HandoffEvent.of(15, "y", asList("d"), asList("c")),
+                              HandoffEvent.of(20, "x", asList("a"), asList("b")),
+                              HandoffEvent.of(20, "y", asList("c"), asList("d"))),
+                       mapOf(pair("x", timeline(interval(0, 10, "a"), interval(10, 20, "b"), interval(20, 100, "a"))),
+                             pair("y", timeline(interval(0, 15, "c"), interval(15, 20, "d"), interval(20, 100, "c")))));
+    }
+
+    @Test
+    void findHandoffs_OverlappingValues() {
+        assertHandoffs(asList(HandoffEvent.of(10, "x", asList("b"), emptyList()),
+                              HandoffEvent.of(20, "x", emptyList(), asList("a"))),
+                       mapOf(pair("x", timeline(interval(0, 20, "a"), interval(10, 100, "b")))));
+    }
+
+    @Test
+    void findHandoffs_Lazy() {
+        List<Range<Integer>>                   requested = new ArrayList<>();
+        Timeline<Integer, String>              x         = timeline(interval(0, 10, "a"), interval(10, 20, "b"));
+        Map<String, Timeline<Integer, String>> timelines = mapOf(pair("x", range -> {
+            requested.add(range);
+            return x.toSegment(range);
+        }));
+        Iterator<HandoffEvent<String, Integer, String>> iterator = HandoffDetector.of(timelines)
+                                                                                  .findHandoffs(Range.of(0, 100))
+                                                                                  .iterator();
+        assertEquals(emptyList(), requested);
+
+        assertEquals(HandoffEvent.of(10, "x", asList("b"), asList("a")), iterator.next());
+        assertEquals(asList(Range.of(0, 100)), requested);
+        assertEquals(HandoffEvent.of(20, "x", emptyList(), asList("b")), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(asList(Range.of(0, 100)), requested);
+    }
+
+    private static void assertHandoffs(List<HandoffEvent<String, Integer, String>> expected,
+                                       Map<String, Timeline<Integer, String>> timelines) {
+        assertEquals(expected,
+                     HandoffDetector.of(timelines).findHandoffs(Range.of(0, 100)).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ICalendarExporterTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2018-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void export_Segment() throws IOException {
+        StringWriter writer = new StringWriter();
+        exporter(value -> "On-call " + value).export("a", buildSegment(), writer);
+        assertEquals(String.join("\r\n",
+                                 "BEGIN:VCALENDAR",
+                                 "VERSION:2.0",
+                                 "PRODID:example.com",
+                                 "CALSCALE:GREGORIAN",
+                                 "METHOD:PUBLISH",
+                                 "BEGIN:VEVENT",
+                                 "UID:1514764800-1514836800-a@example.com",
+                                 "DTSTAMP:20180101T000000Z",
+                                 "DTSTART:20180101T000000Z",
+                                 "DTEND:20180101T200000Z",
+                                 "SUMMARY:On-call a",
+                                 "TRANSP:OPAQUE",
+                                 "END:VEVENT",
+                                 "BEGIN:VEVENT",
+                                 "UID:1514872800-1514908800-a@example.com",
+                                 "DTSTAMP:20180101T000000Z",
+                                 "DTSTART:20180102T060000Z",
+                                 "DTEND:20180102T160000Z",
+                                 "SUMMARY:On-call a",
+                                 "TRANSP:OPAQUE",
+                                 "END:VEVENT",
+                                 "END:VCALENDAR",
+                                 ""), writer.toString());
+    }
+
+    @Test
+    void export_ReverseIndexMatchesSegment() throws IOException {
+        ICalendarExporter<Integer, String> exporter = exporter(value -> "On-call " + value);
+        ReverseIndex<Integer, String>      index    = ReverseIndex.of(buildSegment());
+        for (String recipient : asList("a", "b", "x")) {
+            StringWriter expected = new StringWriter();
+            StringWriter actual   = new StringWriter();
+            exporter.export(recipient, buildSegment(), expected);
+            exporter.export(recipient, index, actual);
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    void export_EscapesAndFoldsLongLines() throws IOException {
+        String                summary = "Primary, secondary; backup\\escalation\nçağrı ☎ 😀 " + repeat("x", 100);
+        ByteArrayOutputStream output  = new ByteArrayOutputStream();
+        exporter(value -> summary).export("b", buildSegment(), output);
+
+        String content = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        for (String line : content.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        String unfolded = content.replace("\r\n ", "");
+        assertTrue(unfolded.contains("\r\nSUMMARY:Primary\\, secondary\\; backup\\\\escalation\\nçağrı ☎ 😀 "
+                                     + repeat("x", 100)
+                                     + "\r\n"), unfolded);
+    }
+
+    @Test
+    void export_ClampsUnboundedEnds() throws IOException {
+        StringWriter                       writer   = new StringWriter();
+        ICalendarExporter<Instant, String> exporter = ICalendarExporter.of("example.com",
+                                                                           instant -> instant,
+                                                                           value -> value,
+                                                                           value -> value,
+                                                                           CLOCK);
+        exporter.export("a",
+                        StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(Instant.MIN, Instant.EPOCH), "a"),
+                                                          ValuedRange.of(Range.of(CLOCK.instant(), Instant.MAX), "a"))),
+                        writer);
+        String content = writer.toString();
+        assertTrue(content.contains("\r\nDTSTART:00000101T000000Z\r\nDTEND:19700101T000000Z\r\n"), content);
+        assertTrue(content.contains("\r\nDTSTART:20180101T000000Z\r\nDTEND:99991231T235959Z\r\n"), content);
+    }
+
+    private static ICalendarExporter<Integer, String> exporter(Function<String, String> summaryOf) {
+        return ICalendarExporter.of("example.com",
+                                    hour -> Instant.ofEpochSecond(1514764800L + (hour * 3600L)),
+                                    value -> value,
+                                    summaryOf,
+                                    CLOCK);
+    }
+
+    private static TimelineSegment<Integer, String> buildSegment() {
+        return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                 ValuedRange.of(Range.of(10, 20), "a"),
+                                                 ValuedRange.of(Range.of(10, 30), "b"),
+                                                 ValuedRange.of(Range.of(30, 40), "a")));
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
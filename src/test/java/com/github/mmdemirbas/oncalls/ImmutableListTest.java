@@ -0,0 +1,60 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ImmutableListTest {
+    @Test
+    void copyOf() {
+        List<String> input = new ArrayList<>(asList("a", "b", "c"));
+        List<String> copy  = ImmutableList.copyOf(input);
+        input.clear();
+        assertEquals(asList("a", "b", "c"), copy);
+        assertEquals(asList("a", "b", "c").hashCode(), copy.hashCode());
+        assertArrayEquals(new Object[]{"a", "b", "c"}, copy.toArray());
+        assertSame(copy, ImmutableList.copyOf(copy));
+        assertSame(emptyList(), ImmutableList.copyOf(null));
+        assertSame(emptyList(), ImmutableList.copyOf(emptyList()));
+        assertEquals(asList("x"), ImmutableList.copyOf(asList("x")));
+    }
+
+    @Test
+    void wrap() {
+        assertEquals(asList("a", "b"), ImmutableList.wrap(new Object[]{"a", "b", "c"}, 2));
+        assertEquals(asList("a"), ImmutableList.wrap(new Object[]{"a", "b"}, 1));
+        assertSame(emptyList(), ImmutableList.wrap(new Object[1], 0));
+    }
+
+    @Test
+    void get_OutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> ImmutableList.copyOf(asList("a")).get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ImmutableList.copyOf(asList("a", "b")).get(2));
+    }
+
+    @Test
+    void mutators_Throw() {
+        for (List<String> list : asList(ImmutableList.copyOf(asList("a")), ImmutableList.copyOf(asList("a", "b")))) {
+            assertThrows(UnsupportedOperationException.class, () -> list.add("x"));
+            assertThrows(UnsupportedOperationException.class, () -> list.remove("x"));
+            assertThrows(UnsupportedOperationException.class, () -> list.set(0, "x"));
+            assertThrows(UnsupportedOperationException.class, () -> list.removeIf(value -> false));
+            assertThrows(UnsupportedOperationException.class, () -> list.sort(null));
+            assertThrows(UnsupportedOperationException.class, list::clear);
+            assertThrows(UnsupportedOperationException.class, () -> {
+                Iterator<String> iterator = list.iterator();
+                iterator.next();
+                iterator.remove();
+            });
+        }
+    }
+}
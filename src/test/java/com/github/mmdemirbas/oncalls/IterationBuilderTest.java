@@ -32,6 +32,29 @@ final class IterationBuilderTest {
                                                    ValuedRange.of(Range.of(3, 4), 3)), 2));
     }
 
+    @Test
+    void splitOnAxis_MatchesGenericSplit() {
+        Iteration<Integer>  iteration = Iteration.of(30, Range.of(1, 4), Range.of(5, 12), Range.of(20, 29));
+        Iterations<Integer> units     = Iterations.of(4,
+                                                      ValuedRange.of(Range.of(0, 2), 0),
+                                                      ValuedRange.of(Range.of(2, 3), 1),
+                                                      ValuedRange.of(Range.of(3, 4), 0));
+        for (int startOffset = 0; startOffset < 6; startOffset++) {
+            assertEquals(iteration.newBuilder(IterationBuilderTest::sum).split(units, startOffset),
+                         iteration.newBuilder(TimeAxis.integers()).split(units, startOffset),
+                         "at " + startOffset);
+        }
+    }
+
+    @Test
+    void repeatOnAxis() {
+        assertEquals(Iteration.of(20, Range.of(2, 4), Range.of(5, 8), Range.of(12, 14), Range.of(15, 18)),
+                     Iteration.of(10, Range.of(2, 4), Range.of(5, 8))
+                              .newBuilder(TimeAxis.integers())
+                              .repeat(2)
+                              .build());
+    }
+
     @Test
     void repeat() {
         assertEquals(Iteration.of(30,
@@ -0,0 +1,100 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LazyMergedSegmentTest {
+    private static final MergeFunction<String, String> UNION = (values, others, output) -> {
+        if (others.isEmpty()) {
+            return false;
+        }
+        output.addAll(values);
+        others.stream().filter(value -> !values.contains(value)).forEach(output::add);
+        return true;
+    };
+
+    private static final MergeFunction<String, String> INTERSECTION = (values, others, output) -> {
+        values.stream().filter(others::contains).forEach(output::add);
+        return true;
+    };
+
+    @Test
+    void findCurrentValues_DoesNotMaterialize() {
+        StaticTimeline<Integer, String> first  = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                                                   ValuedRange.of(Range.of(20, 30), "a")));
+        StaticTimeline<Integer, String> second = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(5, 25), "b")));
+        AtomicInteger                   calls  = new AtomicInteger();
+        LazyMergedSegment<Integer, String, String> lazy = new LazyMergedSegment<>(first, second, (values, others, output) -> {
+            calls.incrementAndGet();
+            return UNION.merge(values, others, output);
+        });
+
+        assertEquals(asList("a", "b"), lazy.findCurrentValues(7));
+        assertEquals(ValuedRange.of(Range.of(5, 10), asList("a", "b")), lazy.findCurrentInterval(9));
+        int callsAfterFirstRegion = calls.get();
+        assertEquals(asList("a", "b"), lazy.findCurrentValues(8));
+        assertEquals(callsAfterFirstRegion, calls.get());
+        assertEquals(ValuedRange.of(Range.of(10, 20), asList("b")), lazy.findNextInterval(7));
+        assertFalse(lazy.isMaterialized());
+
+        assertEquals(asList(0, 5, 10, 20, 25, 30), new ArrayList<>(lazy.getKeyPoints()));
+        assertTrue(lazy.isMaterialized());
+        assertSameContent(first.mergeWith(second, UNION), lazy);
+    }
+
+    @Test
+    void queries_MatchMaterializedSegment() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            StaticTimeline<Integer, String> first  = randomTimeline(random);
+            StaticTimeline<Integer, String> second = randomTimeline(random);
+            for (MergeFunction<String, String> function : asList(UNION, INTERSECTION)) {
+                TimelineSegment<Integer, String> expected = new LazyMergedSegment<>(first, second, function);
+                expected.toIntervalMap();
+                TimelineSegment<Integer, String> lazy = first.mergeLazilyWith(second, function);
+                for (int point = -1; point <= 110; point++) {
+                    assertEquals(expected.findCurrentInterval(point), lazy.findCurrentInterval(point));
+                    assertEquals(expected.findNextInterval(point), lazy.findNextInterval(point));
+                    assertEquals(expected.findNextNonEmptyInterval(point), lazy.findNextNonEmptyInterval(point));
+                }
+                assertSameContent(first.mergeWith(second, function), lazy);
+            }
+        }
+    }
+
+    /**
+     * Asserts that both segments have the same values at each point, ignoring the order of values.
+     */
+    private static void assertSameContent(TimelineSegment<Integer, String> expected,
+                                          TimelineSegment<Integer, String> actual) {
+        for (int point = -1; point <= 130; point++) {
+            assertEquals(toSet(expected.findCurrentValues(point)), toSet(actual.findCurrentValues(point)));
+        }
+    }
+
+    private static Set<String> toSet(List<String> values) {
+        return (values == null) ? null : new HashSet<>(values);
+    }
+
+    private static StaticTimeline<Integer, String> randomTimeline(Random random) {
+        List<ValuedRange<Integer, String>> intervals = new ArrayList<>();
+        int                                count     = 1 + random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(100);
+            intervals.add(ValuedRange.of(Range.of(start, start + 1 + random.nextInt(20)),
+                                         asList("a", "b", "c").get(random.nextInt(3))));
+        }
+        return StaticTimeline.ofIntervals(intervals);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LongRangeListTest {
+    @Test
+    void add_Grows() {
+        LongRangeList list = new LongRangeList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(2 * i, (2 * i) + 1);
+        }
+        assertEquals(100, list.size());
+        assertEquals(LongRange.of(198, 199), list.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getStart(100));
+        assertThrows(IllegalArgumentException.class, () -> list.add(5, 4));
+    }
+
+    @Test
+    void join() {
+        LongRangeList list = new LongRangeList();
+        list.join(1, 3);
+        list.join(3, 5);
+        list.join(4, 4);
+        list.join(2, 4);
+        list.join(7, 9);
+        assertEquals(asList(Range.of(1, 5), Range.of(7, 9)), list.toRanges(TimeAxis.integers()));
+    }
+
+    @Test
+    void contains() {
+        LongRangeList list = listOf(Range.of(1, 3), Range.of(5, 8));
+        assertFalse(list.contains(0));
+        assertTrue(list.contains(1));
+        assertTrue(list.contains(2));
+        assertFalse(list.contains(3));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(8));
+    }
+
+    @Test
+    void firstEndingAfter() {
+        LongRangeList list = listOf(Range.of(1, 3), Range.of(5, 8));
+        assertEquals(0, list.firstEndingAfter(0));
+        assertEquals(0, list.firstEndingAfter(2));
+        assertEquals(1, list.firstEndingAfter(3));
+        assertEquals(1, list.firstEndingAfter(7));
+        assertEquals(2, list.firstEndingAfter(8));
+    }
+
+    @Test
+    void intersect() {
+        LongRangeList output = new LongRangeList();
+        LongRangeList.intersect(listOf(Range.of(0, 4), Range.of(6, 10), Range.of(12, 14)),
+                                listOf(Range.of(2, 7), Range.of(9, 13)),
+                                output);
+        assertEquals(asList(Range.of(2, 4), Range.of(6, 7), Range.of(9, 10), Range.of(12, 13)), toRanges(output));
+
+        LongRangeList.intersect(listOf(Range.of(0, 4)), listOf(Range.of(4, 7)), output);
+        assertEquals(asList(), toRanges(output));
+    }
+
+    @Test
+    void union() {
+        LongRangeList output = new LongRangeList();
+        LongRangeList.union(listOf(Range.of(0, 4), Range.of(6, 10), Range.of(12, 14)),
+                            listOf(Range.of(2, 5), Range.of(10, 11), Range.of(20, 21)),
+                            output);
+        assertEquals(asList(Range.of(0, 5), Range.of(6, 11), Range.of(12, 14), Range.of(20, 21)), toRanges(output));
+    }
+
+    @Test
+    void setOperations_RejectInputAsOutput() {
+        LongRangeList list = listOf(Range.of(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> LongRangeList.union(list, new LongRangeList(), list));
+    }
+
+    @SafeVarargs
+    private static LongRangeList listOf(Range<Integer>... ranges) {
+        return LongRangeList.of(asList(ranges), TimeAxis.integers());
+    }
+
+    private static List<Range<Integer>> toRanges(LongRangeList list) {
+        return list.toRanges(TimeAxis.integers());
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LongRangeTest {
+    @Test
+    void endBeforeStart() {
+        assertThrows(IllegalArgumentException.class, () -> LongRange.of(2, 1));
+    }
+
+    @Test
+    void isEmpty() {
+        assertTrue(LongRange.of(3, 3).isEmpty());
+        assertFalse(LongRange.of(3, 4).isEmpty());
+    }
+
+    @Test
+    void contains() {
+        assertFalse(LongRange.of(3, 5).contains(2));
+        assertTrue(LongRange.of(3, 5).contains(3));
+        assertTrue(LongRange.of(3, 5).contains(4));
+        assertFalse(LongRange.of(3, 5).contains(5));
+    }
+
+    @Test
+    void intersect() {
+        assertEquals(LongRange.of(3, 5), LongRange.of(1, 5).intersect(LongRange.of(3, 8)));
+        assertEquals(LongRange.of(3, 3), LongRange.of(1, 3).intersect(LongRange.of(3, 8)));
+        assertEquals(LongRange.of(3, 3), LongRange.of(5, 8).intersect(LongRange.of(1, 3)));
+    }
+
+    @Test
+    void intersectsAndJoinable() {
+        assertTrue(LongRange.intersects(1, 5, 4, 8));
+        assertFalse(LongRange.intersects(1, 4, 4, 8));
+        assertTrue(LongRange.joinable(1, 4, 4, 8));
+        assertFalse(LongRange.joinable(1, 3, 4, 8));
+    }
+
+    @Test
+    void toRange() {
+        assertEquals(Range.of(3, 5), LongRange.of(3, 5).toRange(TimeAxis.integers()));
+        assertEquals(LongRange.of(3, 5), LongRange.of(Range.of(3, 5), TimeAxis.integers()));
+    }
+}
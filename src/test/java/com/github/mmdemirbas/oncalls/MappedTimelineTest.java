@@ -0,0 +1,115 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class MappedTimelineTest {
+    private static final TimeAxis<Integer>   POINTS = TimeAxis.integers();
+    private static final ValueCodec<String>  VALUES = ValueCodec.utf8();
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("mapped-timeline", ".bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void queries_MatchStaticTimeline() throws IOException {
+        StaticTimeline<Integer, String> expected = buildTimeline();
+        MappedTimeline<Integer, String> actual   = writeAndOpen(expected);
+
+        assertEquals(expected.toIntervalMap(), actual.toIntervalMap());
+        assertEquals(expected.getKeyPoints(), actual.getKeyPoints());
+        for (int point = -5; point < 50; point++) {
+            assertEquals(expected.findCurrentValues(point), actual.findCurrentValues(point), "at " + point);
+            assertEquals(expected.findCurrentInterval(point), actual.findCurrentInterval(point), "at " + point);
+            assertEquals(expected.findNextInterval(point), actual.findNextInterval(point), "at " + point);
+            assertEquals(expected.findNextNonEmptyInterval(point),
+                         actual.findNextNonEmptyInterval(point),
+                         "at " + point);
+        }
+    }
+
+    @Test
+    void toSegment_MatchesStaticTimeline() throws IOException {
+        StaticTimeline<Integer, String> expected = buildTimeline();
+        MappedTimeline<Integer, String> actual   = writeAndOpen(expected);
+
+        for (Range<Integer> range : asList(Range.of(-10, 100), Range.of(5, 25), Range.of(12, 13), Range.of(40, 45))) {
+            assertEquals(expected.toSegment(range).toIntervalMap(),
+                         actual.toSegment(range).toIntervalMap(),
+                         "on " + range);
+        }
+    }
+
+    @Test
+    void valuesAt_DecodedOnce() throws IOException {
+        MappedTimeline<Integer, String> timeline = writeAndOpen(buildTimeline());
+        assertSame(timeline.findCurrentValues(0), timeline.findCurrentValues(30));
+    }
+
+    @Test
+    void valuesAt_ConcurrentFirstAccessesShareOneInstance() throws Exception {
+        MappedTimeline<Integer, String> timeline = writeAndOpen(buildTimeline());
+        ExecutorService                 executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> timeline.findCurrentValues(0)));
+            }
+            for (Future<List<String>> result : results) {
+                assertSame(timeline.findCurrentValues(0), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void empty() throws IOException {
+        MappedTimeline<Integer, String> timeline = writeAndOpen(StaticTimeline.ofIntervals(emptyList()));
+        assertEquals(0, timeline.getKeyPoints().size());
+        assertNull(timeline.findCurrentInterval(0));
+    }
+
+    @Test
+    void open_InvalidFile() throws IOException {
+        Files.write(file, new byte[100]);
+        assertThrows(IOException.class, () -> MappedTimeline.open(file, POINTS, VALUES));
+    }
+
+    private MappedTimeline<Integer, String> writeAndOpen(TimelineSegment<Integer, String> segment) throws IOException {
+        MappedTimeline.write(segment, file, POINTS, VALUES);
+        return MappedTimeline.open(file, POINTS, VALUES);
+    }
+
+    private static StaticTimeline<Integer, String> buildTimeline() {
+        return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                 ValuedRange.of(Range.of(5, 20), "b"),
+                                                 ValuedRange.of(Range.of(25, 30), "c"),
+                                                 ValuedRange.of(Range.of(30, 40), "a")));
+    }
+}
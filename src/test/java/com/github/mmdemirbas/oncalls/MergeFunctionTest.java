@@ -0,0 +1,53 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MergeFunctionTest {
+    @Test
+    void of_AdaptsBiFunction() {
+        MergeFunction<String, String> function = MergeFunction.of((values, others) -> asList("x"));
+        List<String>                  output   = new ArrayList<>();
+        assertTrue(function.merge(asList("a"), asList("b"), output));
+        assertEquals(asList("x"), output);
+    }
+
+    @Test
+    void mergeWith_UnchangedKeepsValues() {
+        StaticTimeline<Integer, String> base  = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                                                  ValuedRange.of(Range.of(5, 20), "b")));
+        StaticTimeline<Integer, String> other = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(2, 4), "x"),
+                                                                                  ValuedRange.of(Range.of(6, 8), "y")));
+        List<List<String>> buffers = new ArrayList<>();
+        TimelineSegment<Integer, String> merged = base.mergeWith(other, (values, others, output) -> {
+            buffers.add(output);
+            return false;
+        });
+        assertEquals(base.toIntervalMap(), merged.toIntervalMap());
+        assertTrue(buffers.size() > 1);
+        buffers.forEach(buffer -> assertSame(buffers.get(0), buffer));
+    }
+
+    @Test
+    void mergeWith_WritesOutput() {
+        StaticTimeline<Integer, String> base  = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a")));
+        StaticTimeline<Integer, String> other = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(5, 15), "b")));
+        TimelineSegment<Integer, String> merged = base.mergeWith(other, (values, others, output) -> {
+            if (others.isEmpty()) {
+                return false;
+            }
+            output.addAll(others);
+            return true;
+        });
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 5), "a"),
+                                                       ValuedRange.of(Range.of(5, 15), "b"))).toIntervalMap(),
+                     merged.toIntervalMap());
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class OffHeapTimelineTest {
+    private static final TimeAxis<Integer> POINTS = TimeAxis.integers();
+
+    @Test
+    void queries_MatchStaticTimeline() {
+        StaticTimeline<Integer, String> expected = buildTimeline();
+        try (OffHeapTimeline<Integer, String> actual = OffHeapTimeline.of(expected, POINTS)) {
+            assertEquals(expected.toIntervalMap(), actual.toIntervalMap());
+            for (int point = -5; point < 50; point++) {
+                assertEquals(expected.findCurrentInterval(point), actual.findCurrentInterval(point), "at " + point);
+                assertEquals(expected.findNextInterval(point), actual.findNextInterval(point), "at " + point);
+                assertEquals(expected.findNextNonEmptyInterval(point),
+                             actual.findNextNonEmptyInterval(point),
+                             "at " + point);
+            }
+            assertEquals(expected.toSegment(Range.of(7, 33)).toIntervalMap(),
+                         actual.toSegment(Range.of(7, 33)).toIntervalMap());
+        }
+    }
+
+    @Test
+    void valueSets_Shared() {
+        try (OffHeapTimeline<Integer, String> timeline = OffHeapTimeline.of(buildTimeline(), POINTS)) {
+            assertSame(timeline.findCurrentValues(0), timeline.findCurrentValues(30));
+        }
+    }
+
+    @Test
+    void close() {
+        OffHeapTimeline<Integer, String> timeline = OffHeapTimeline.of(buildTimeline(), POINTS);
+        assertTrue(timeline.isOpen());
+
+        timeline.close();
+        timeline.close();
+
+        assertFalse(timeline.isOpen());
+        assertThrows(IllegalStateException.class, () -> timeline.findCurrentValues(0));
+    }
+
+    @Test
+    void mergeWith_StaticTimeline() {
+        StaticTimeline<Integer, String> other = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(8, 12),
+                                                                                                 "x")));
+        try (OffHeapTimeline<Integer, String> timeline = OffHeapTimeline.of(buildTimeline(), POINTS)) {
+            assertEquals(buildTimeline().mergeWith(other, OffHeapTimelineTest::union).toIntervalMap(),
+                         timeline.mergeWith(other, OffHeapTimelineTest::union).toIntervalMap());
+        }
+    }
+
+    private static List<String> union(List<String> values, List<String> others) {
+        List<String> union = new ArrayList<>(values);
+        union.addAll(others);
+        return union;
+    }
+
+    private static StaticTimeline<Integer, String> buildTimeline() {
+        return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                 ValuedRange.of(Range.of(5, 20), "b"),
+                                                 ValuedRange.of(Range.of(25, 30), "c"),
+                                                 ValuedRange.of(Range.of(30, 40), "a")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ParallelMergeTest {
+    @Test
+    void mergeWithInParallel_MatchesSequentialMerge() {
+        Random                          random = new Random(42);
+        StaticTimeline<Integer, String> first  = randomTimeline(random, 3_000, asList("a", "b"));
+        StaticTimeline<Integer, String> second = randomTimeline(random, 3_000, asList("b", "c"));
+        MergeFunction<String, String>   union  = (values, others, output) -> {
+            if (others.isEmpty()) {
+                return false;
+            }
+            output.addAll(values);
+            others.stream().filter(value -> !values.contains(value)).forEach(output::add);
+            return true;
+        };
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TimelineSegment<Integer, String> merged = first.mergeWithInParallel(second, union, pool);
+            assertEquals(toValueSets(first.mergeWith(second, union)), toValueSets(merged));
+
+            Map<List<String>, List<String>> shared = new HashMap<>();
+            merged.toIntervalMap().values().forEach(values -> assertSame(shared.computeIfAbsent(values, x -> values),
+                                                                         values));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void mergeWithInParallel_CoalescesAcrossSeams() {
+        List<ValuedRange<Integer, String>> intervals = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            intervals.add(ValuedRange.of(Range.of(2 * i, (2 * i) + 1), "x"));
+        }
+        StaticTimeline<Integer, String> gaps  = StaticTimeline.ofIntervals(intervals);
+        StaticTimeline<Integer, String> cover = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10_000),
+                                                                                                 "a")));
+        TimelineSegment<Integer, String> merged = cover.mergeWithInParallel(gaps, (values, others, output) -> false);
+        assertEquals(cover.toIntervalMap(), merged.toIntervalMap());
+    }
+
+    @Test
+    void mergeWithInParallel_SmallSegments() {
+        StaticTimeline<Integer, String> first  = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a")));
+        StaticTimeline<Integer, String> second = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(5, 15), "b")));
+        MergeFunction<String, String>   concat = MergeFunction.of((values, others) -> {
+            List<String> result = new ArrayList<>(values);
+            result.addAll(others);
+            return result;
+        });
+        assertEquals(first.mergeWith(second, concat).toIntervalMap(),
+                     first.mergeWithInParallel(second, concat).toIntervalMap());
+    }
+
+    @Test
+    void haveSameValues_ComparesAsMultisets() {
+        assertTrue(ParallelMerge.haveSameValues(asList("a", "b", "a"), asList("a", "a", "b")));
+        assertFalse(ParallelMerge.haveSameValues(asList("a", "a", "b"), asList("a", "b", "b")));
+        assertFalse(ParallelMerge.haveSameValues(asList("a", "b"), asList("a", "b", "b")));
+    }
+
+    private static Map<Integer, Set<String>> toValueSets(TimelineSegment<Integer, String> segment) {
+        Map<Integer, Set<String>> valueSets = new TreeMap<>();
+        segment.toIntervalMap().forEach((point, values) -> valueSets.put(point, new HashSet<>(values)));
+        return valueSets;
+    }
+
+    private static StaticTimeline<Integer, String> randomTimeline(Random random, int count, List<String> values) {
+        List<ValuedRange<Integer, String>> intervals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(100_000);
+            intervals.add(ValuedRange.of(Range.of(start, start + 1 + random.nextInt(50)),
+                                         values.get(random.nextInt(values.size()))));
+        }
+        return StaticTimeline.ofIntervals(intervals);
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RangeSetTest {
+    @Test
+    void of_JoinsRanges() {
+        assertEquals(asList(Range.of(1, 5), Range.of(7, 9)),
+                     RangeSet.of(Range.of(7, 9), Range.of(3, 5), Range.of(1, 3), Range.of(4, 4)).getRanges());
+        assertTrue(RangeSet.of(Range.of(4, 4)).isEmpty());
+        assertEquals(RangeSet.empty(), RangeSet.of());
+    }
+
+    @Test
+    void contains() {
+        RangeSet<Integer> set = RangeSet.of(Range.of(1, 3), Range.of(5, 8));
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(1));
+        assertFalse(set.contains(3));
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(8));
+    }
+
+    @Test
+    void union() {
+        RangeSet<Integer> a = RangeSet.of(Range.of(1, 3), Range.of(5, 8), Range.of(20, 25));
+        RangeSet<Integer> b = RangeSet.of(Range.of(3, 4), Range.of(6, 10), Range.of(12, 14));
+        assertEquals(RangeSet.of(Range.of(1, 4), Range.of(5, 10), Range.of(12, 14), Range.of(20, 25)), a.union(b));
+        assertEquals(a.union(b), b.union(a));
+        assertEquals(a, a.union(RangeSet.empty()));
+    }
+
+    @Test
+    void intersect() {
+        RangeSet<Integer> a = RangeSet.of(Range.of(1, 3), Range.of(5, 8), Range.of(20, 25));
+        RangeSet<Integer> b = RangeSet.of(Range.of(2, 6), Range.of(7, 21));
+        assertEquals(RangeSet.of(Range.of(2, 3), Range.of(5, 6), Range.of(7, 8), Range.of(20, 21)), a.intersect(b));
+        assertEquals(a.intersect(b), b.intersect(a));
+        assertTrue(a.intersect(RangeSet.of(Range.of(3, 5))).isEmpty());
+    }
+
+    @Test
+    void difference() {
+        RangeSet<Integer> a = RangeSet.of(Range.of(0, 10), Range.of(20, 30));
+        RangeSet<Integer> b = RangeSet.of(Range.of(2, 4), Range.of(6, 22), Range.of(25, 26), Range.of(29, 40));
+        assertEquals(RangeSet.of(Range.of(0, 2), Range.of(4, 6), Range.of(22, 25), Range.of(26, 29)), a.difference(b));
+        assertEquals(RangeSet.of(Range.of(10, 20), Range.of(30, 40)), b.difference(a));
+        assertEquals(a, a.difference(RangeSet.empty()));
+    }
+
+    @Test
+    void complement() {
+        RangeSet<Integer> set = RangeSet.of(Range.of(2, 4), Range.of(6, 8));
+        assertEquals(RangeSet.of(Range.of(0, 2), Range.of(4, 6), Range.of(8, 10)), set.complement(Range.of(0, 10)));
+        assertEquals(RangeSet.of(Range.of(4, 5)), set.complement(Range.of(3, 5)));
+    }
+
+    @Test
+    void operations_MatchPointwiseSemantics() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            RangeSet<Integer> a = randomSet(random, 1 + random.nextInt(3));
+            RangeSet<Integer> b = randomSet(random, 1 + random.nextInt(40));
+            for (int point = 0; point < 200; point++) {
+                boolean inA = a.contains(point);
+                boolean inB = b.contains(point);
+                assertEquals(inA || inB, a.union(b).contains(point));
+                assertEquals(inA && inB, a.intersect(b).contains(point));
+                assertEquals(inA && inB, b.intersect(a).contains(point));
+                assertEquals(inA && !inB, a.difference(b).contains(point));
+                assertEquals(inB && !inA, b.difference(a).contains(point));
+            }
+        }
+    }
+
+    @Test
+    void gallop() {
+        List<Range<Integer>> ranges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ranges.add(Range.of(2 * i, (2 * i) + 1));
+        }
+        for (int from = 0; from <= 100; from += 7) {
+            for (int point = -1; point <= 201; point++) {
+                int expected = Math.max(from, Math.min(100, (point + 1) / 2));
+                assertEquals(expected, RangeSet.gallop(ranges, from, point));
+            }
+        }
+    }
+
+    @Test
+    void iteration_RoundTrip() {
+        RangeSet<Integer> set       = RangeSet.of(Range.of(1, 3), Range.of(5, 8));
+        Iteration<Integer> iteration = set.toIteration(10);
+        assertEquals(Iteration.of(10, asList(Range.of(1, 3), Range.of(5, 8))), iteration);
+        assertEquals(set, RangeSet.of(iteration));
+    }
+
+    @Test
+    void timeline_RoundTrip() {
+        RangeSet<Integer>               set      = RangeSet.of(Range.of(1, 3), Range.of(5, 8));
+        StaticTimeline<Integer, String> timeline = set.toTimeline("a");
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(1, 3), "a"),
+                                                       ValuedRange.of(Range.of(5, 8), "a"))).toIntervalMap(),
+                     timeline.toIntervalMap());
+
+        TimelineSegment<Integer, String> segment = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                                                     ValuedRange.of(Range.of(5, 15), "b"),
+                                                                                     ValuedRange.of(Range.of(20, 30), "b")))
+                                                                 .toSegment(Range.of(0, 40));
+        assertEquals(RangeSet.of(Range.of(0, 15), Range.of(20, 30)), RangeSet.ofCovered(segment));
+        assertEquals(RangeSet.of(Range.of(5, 15), Range.of(20, 30)), RangeSet.ofValue(segment, "b"));
+        assertEquals(singletonList(Range.of(1, 3)), RangeSet.ofCovered(set.toTimeline("x").toSegment(Range.of(0, 4)))
+                                                            .getRanges());
+        assertEquals(emptyList(), RangeSet.ofValue(segment, "c").getRanges());
+    }
+
+    private static RangeSet<Integer> randomSet(Random random, int count) {
+        List<Range<Integer>> ranges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(200);
+            ranges.add(Range.of(start, Math.min(200, start + random.nextInt(20))));
+        }
+        return RangeSet.of(ranges);
+    }
+}
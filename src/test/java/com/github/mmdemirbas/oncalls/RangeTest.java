@@ -2,6 +2,7 @@ package com.github.mmdemirbas.oncalls;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -155,6 +156,27 @@ final class RangeTest {
         assertDisjointRanges(asList(Range.of(2, 8)), asList(Range.of(2, 8), Range.of(2, 8)));
     }
 
+    @Test
+    void toDisjointRanges_UnsortedRanges() {
+        assertDisjointRanges(asList(Range.of(1, 3), Range.of(4, 9)),
+                             asList(Range.of(6, 9), Range.of(1, 3), Range.of(4, 6), Range.of(5, 7)));
+    }
+
+    @Test
+    void toDisjointRanges_LargeUnsortedRanges() {
+        List<Range<Integer>> ranges = new ArrayList<>();
+        for (int i = 20_000; i > 0; i--) {
+            ranges.add(Range.of(3 * i, (3 * i) + ((i % 2 == 0) ? 3 : 1)));
+        }
+        List<Range<Integer>> expected = new ArrayList<>();
+        expected.add(Range.of(3, 4));
+        for (int i = 2; i < 20_000; i += 2) {
+            expected.add(Range.of(3 * i, (3 * i) + 4));
+        }
+        expected.add(Range.of(60_000, 60_003));
+        assertDisjointRanges(expected, ranges);
+    }
+
     private static void assertDisjointRanges(List<Range<Integer>> expected, Collection<Range<Integer>> ranges) {
         assertEquals(expected, Range.toDisjointRanges(ranges));
     }
@@ -0,0 +1,69 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+final class ReverseIndexTest {
+    @Test
+    void getRanges_JoinsSuccessiveIntervalsOfSameValue() {
+        ReverseIndex<Integer, String> index = buildIndex();
+        assertEquals(asList(Range.of(0, 20), Range.of(30, 40)), index.getRanges("a"));
+        assertEquals(asList(Range.of(10, 30)), index.getRanges("b"));
+        assertEquals(asList(Range.of(50, 60)), index.getRanges("c"));
+    }
+
+    @Test
+    void getRanges_UnknownValue() {
+        assertEquals(emptyList(), buildIndex().getRanges("x"));
+    }
+
+    @Test
+    void getValues() {
+        assertEquals(new LinkedHashSet<>(asList("a", "b", "c")), buildIndex().getValues());
+    }
+
+    @Test
+    void findCurrentRange() {
+        ReverseIndex<Integer, String> index = buildIndex();
+        assertEquals(Range.of(0, 20), index.findCurrentRange("a", 0));
+        assertEquals(Range.of(0, 20), index.findCurrentRange("a", 19));
+        assertNull(index.findCurrentRange("a", 20));
+        assertEquals(Range.of(30, 40), index.findCurrentRange("a", 30));
+        assertNull(index.findCurrentRange("a", 40));
+        assertNull(index.findCurrentRange("c", 0));
+    }
+
+    @Test
+    void findNextRange() {
+        ReverseIndex<Integer, String> index = buildIndex();
+        assertEquals(Range.of(30, 40), index.findNextRange("a", 0));
+        assertEquals(Range.of(30, 40), index.findNextRange("a", 25));
+        assertNull(index.findNextRange("a", 30));
+        assertEquals(Range.of(50, 60), index.findNextRange("c", -5));
+        assertNull(index.findNextRange("x", 0));
+    }
+
+    @Test
+    void findRanges() {
+        ReverseIndex<Integer, String> index = buildIndex();
+        assertEquals(asList(Range.of(0, 20), Range.of(30, 40)), index.findRanges("a", Range.of(5, 35)));
+        assertEquals(asList(Range.of(30, 40)), index.findRanges("a", Range.of(20, 40)));
+        assertEquals(emptyList(), index.findRanges("a", Range.of(20, 30)));
+        assertEquals(emptyList(), index.findRanges("a", Range.of(10, 10)));
+        assertEquals(asList(Range.of(0, 20)), index.findRanges("a", Range.of(-10, 1)));
+    }
+
+    private static ReverseIndex<Integer, String> buildIndex() {
+        return ReverseIndex.of(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                                 ValuedRange.of(Range.of(10, 20), "a"),
+                                                                 ValuedRange.of(Range.of(10, 30), "b"),
+                                                                 ValuedRange.of(Range.of(30, 40), "a"),
+                                                                 ValuedRange.of(Range.of(50, 60), "c"))));
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RosterSetTest {
+    private static final Roster<Integer> ROSTER = Roster.of(range(200));
+
+    @Test
+    void representation() {
+        assertFalse(ROSTER.setOf(range(7)).isBitset());
+        assertTrue(ROSTER.setOf(range(8)).isBitset());
+        assertFalse(ROSTER.setOf(range(100)).minus(ROSTER.setOf(range(95))).isBitset());
+    }
+
+    @Test
+    void listView() {
+        RosterSet<Integer> set = ROSTER.setOf(asList(150, 3, 64, 63, 199, 0, 100, 5, 6, 7));
+        assertTrue(set.isBitset());
+        assertEquals(asList(0, 3, 5, 6, 7, 63, 64, 100, 150, 199), set);
+        assertEquals(new ArrayList<>(set), set);
+        assertEquals(asList(0, 3, 5, 6, 7, 63, 64, 100, 150, 199).hashCode(), set.hashCode());
+        assertEquals(6, set.indexOf(64));
+        assertEquals(-1, set.indexOf(65));
+        assertEquals(-1, set.indexOf("x"));
+        assertTrue(set.contains(199));
+        assertFalse(set.contains(198));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(10));
+        assertThrows(UnsupportedOperationException.class, () -> set.add(1));
+    }
+
+    @Test
+    void operations_MatchSetSemantics() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            Set<Integer> x = randomSet(random);
+            Set<Integer> y = randomSet(random);
+
+            Set<Integer> union = new LinkedHashSet<>(x);
+            union.addAll(y);
+            Set<Integer> difference = new LinkedHashSet<>(x);
+            difference.removeAll(y);
+
+            RosterSet<Integer> a = ROSTER.setOf(x);
+            RosterSet<Integer> b = ROSTER.setOf(y);
+            assertEquals(ROSTER.setOf(union), a.union(b));
+            assertEquals(sorted(union), a.union(b));
+            assertEquals(sorted(difference), a.minus(b));
+        }
+    }
+
+    @Test
+    void operations_RejectOtherRoster() {
+        Roster<Integer> other = Roster.of(range(200));
+        assertThrows(IllegalArgumentException.class, () -> ROSTER.setOf(range(3)).union(other.setOf(range(3))));
+    }
+
+    private static Set<Integer> randomSet(Random random) {
+        Set<Integer> set   = new LinkedHashSet<>();
+        int          count = random.nextInt(2) == 0 ? random.nextInt(10) : random.nextInt(200);
+        for (int i = 0; i < count; i++) {
+            set.add(random.nextInt(200));
+        }
+        return set;
+    }
+
+    private static List<Integer> sorted(Set<Integer> set) {
+        List<Integer> list = new ArrayList<>(set);
+        list.sort(null);
+        return list;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class RosterTest {
+    private static final Roster<String> ROSTER = Roster.of(asList("a", "b", "c", "d"));
+
+    @Test
+    void of_RejectsDuplicates() {
+        assertThrows(IllegalArgumentException.class, () -> Roster.of(asList("a", "b", "a")));
+    }
+
+    @Test
+    void setOf() {
+        RosterSet<String> set = ROSTER.setOf(asList("c", "a", "c"));
+        assertEquals(asList("a", "c"), set);
+        assertSame(set, ROSTER.setOf(set));
+        assertEquals(emptyList(), ROSTER.setOf(emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> ROSTER.setOf(asList("x")));
+    }
+
+    @Test
+    void union() {
+        assertEquals(asList("a", "b", "d"), ROSTER.union().apply(asList("d", "a"), asList("b", "a")));
+    }
+
+    @Test
+    void patches() {
+        List<String> existing = asList("a", "c");
+        assertEquals(asList("a", "b", "c"), ROSTER.adding(asList("b")).apply(existing));
+        assertEquals(asList("c"), ROSTER.removing(asList("a", "d")).apply(existing));
+        assertEquals(asList("d"), ROSTER.overriding(asList("d")).apply(existing));
+    }
+
+    @Test
+    void encode_MergesAsRosterSets() {
+        StaticTimeline<Integer, String> base = ROSTER.encode(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                                                               ValuedRange.of(Range.of(5, 20), "b"))));
+        assertEquals(RosterSet.class, base.findCurrentValues(7).getClass());
+
+        List<Timeline<Integer, UnaryOperator<List<String>>>> patches = new ArrayList<>();
+        patches.add(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(8, 12),
+                                                                            ROSTER.removing(asList("b"))))));
+        patches.add(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(15, 25),
+                                                                            ROSTER.adding(asList("c"))))));
+        TimelineSegment<Integer, String> patched = PatchedTimeline.of(base, patches).toSegment(Range.of(0, 30));
+
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                       ValuedRange.of(Range.of(5, 8), "b"),
+                                                       ValuedRange.of(Range.of(12, 20), "b"),
+                                                       ValuedRange.of(Range.of(15, 25), "c"))).toIntervalMap(),
+                     patched.toIntervalMap());
+    }
+
+    @Test
+    void encode_CopiesRosterSetsForOtherPatches() {
+        StaticTimeline<Integer, String> base = ROSTER.encode(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(0, 10),
+                                                                                                                      "a"))));
+        List<Timeline<Integer, UnaryOperator<List<String>>>> patches = new ArrayList<>();
+        patches.add(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(0, 5), ROSTER.adding(asList("c"))))));
+        patches.add(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(3, 8), values -> {
+            values.add("b");
+            return values;
+        }))));
+        TimelineSegment<Integer, String> patched = PatchedTimeline.of(base, patches).toSegment(Range.of(0, 10));
+
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "a"),
+                                                       ValuedRange.of(Range.of(3, 8), "b"),
+                                                       ValuedRange.of(Range.of(0, 5), "c"))).toIntervalMap(),
+                     patched.toIntervalMap());
+    }
+
+    @Test
+    void encode_LastsForOneMergeStep() {
+        StaticTimeline<Integer, String> base   = ROSTER.encode(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(0, 10),
+                                                                                                                        "a"))));
+        StaticTimeline<Integer, String> others = ROSTER.encode(StaticTimeline.ofIntervals(singletonList(ValuedRange.of(Range.of(5, 15),
+                                                                                                                        "b"))));
+        TimelineSegment<Integer, String> merged = base.mergeWith(others, ROSTER.union());
+        assertEquals(asList("a", "b"), merged.findCurrentValues(7));
+        assertNotEquals(RosterSet.class, merged.findCurrentValues(7).getClass());
+
+        TimelineSegment<Integer, String> chained  = merged.mergeWith(others, ROSTER.union());
+        TimelineSegment<Integer, String> reencoded = ROSTER.encode(merged).mergeWith(others, ROSTER.union());
+        assertEquals(merged.toIntervalMap(), chained.toIntervalMap());
+        assertEquals(merged.toIntervalMap(), reencoded.toIntervalMap());
+        assertEquals(RosterSet.class, ROSTER.encode(merged).findCurrentValues(7).getClass());
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ScheduleJournalTest {
+    private static final TimelineCodec<Integer, String> CODEC   = TimelineCodec.of(TimeAxis.integers(), ValueCodec.utf8());
+    private static final Range<Integer>                 HORIZON = Range.of(0, 100);
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("schedule-journal");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        for (Path file : listFiles()) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void append_AppliesEdits() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            appendEdits(journal);
+            assertEquals(expectedMap(), journal.getTimeline().toSegment(HORIZON).toIntervalMap());
+            assertEquals(3, journal.getSequence());
+        }
+    }
+
+    @Test
+    void open_ReplaysJournal() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            appendEdits(journal);
+        }
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            assertEquals(expectedMap(), journal.getTimeline().toSegment(HORIZON).toIntervalMap());
+            assertEquals(3, journal.getSequence());
+        }
+    }
+
+    @Test
+    void open_LoadsSnapshotAndReplaysTail() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(10, 20), singletonList("b")));
+            journal.checkpoint();
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.REMOVE, Range.of(15, 30), singletonList("a")));
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.OVERRIDE, Range.of(40, 45), singletonList("c")));
+        }
+        assertEquals(2, listFiles().size());
+
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            assertEquals(expectedMap(), journal.getTimeline().toSegment(HORIZON).toIntervalMap());
+            assertEquals(3, journal.getSequence());
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(90, 95), singletonList("d")));
+        }
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            assertEquals(4, journal.getSequence());
+            assertEquals(asList("d"), journal.getTimeline().toSegment(HORIZON).findCurrentValues(90));
+        }
+    }
+
+    @Test
+    void append_CheckpointsPeriodically() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(2)) {
+            appendEdits(journal);
+        }
+        assertEquals(asList("journal-00000000000000000002.log", "snapshot-00000000000000000002.bin"), listFileNames());
+        try (ScheduleJournal<Integer, String> journal = open(2)) {
+            assertEquals(expectedMap(), journal.getTimeline().toSegment(HORIZON).toIntervalMap());
+        }
+    }
+
+    @Test
+    void open_TruncatesTornRecord() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            appendEdits(journal);
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(90, 95), singletonList("d")));
+        }
+        Path journalFile = listFiles().get(0);
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            assertEquals(expectedMap(), journal.getTimeline().toSegment(HORIZON).toIntervalMap());
+            assertEquals(3, journal.getSequence());
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(90, 95), singletonList("e")));
+        }
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            assertEquals(4, journal.getSequence());
+            assertEquals(asList("e"), journal.getTimeline().toSegment(HORIZON).findCurrentValues(90));
+        }
+    }
+
+    @Test
+    void checkpoint_KeepsEditsAndBaseOutsideHorizon() throws IOException {
+        Range<Integer>                      all      = Range.of(0, 300);
+        StaticTimeline<Integer, String>     base     = StaticTimeline.ofIntervals(asList(ValuedRange.of(all, "a")));
+        NavigableMap<Integer, List<String>> expected = StaticTimeline.ofIntervals(asList(ValuedRange.of(all, "a"),
+                                                                                         interval(150, 160, "b")))
+                                                                     .toIntervalMap();
+        try (ScheduleJournal<Integer, String> journal = ScheduleJournal.open(directory, base, HORIZON, CODEC, 0)) {
+            journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(150, 160), singletonList("b")));
+            assertEquals(expected, journal.getTimeline().toSegment(all).toIntervalMap());
+            journal.checkpoint();
+            assertEquals(expected, journal.getTimeline().toSegment(all).toIntervalMap());
+        }
+        assertEquals(asList("journal-00000000000000000001.log", "snapshot-00000000000000000001.bin"), listFileNames());
+        try (ScheduleJournal<Integer, String> journal = ScheduleJournal.open(directory, base, HORIZON, CODEC, 0)) {
+            assertEquals(expected, journal.getTimeline().toSegment(all).toIntervalMap());
+        }
+    }
+
+    @Test
+    void open_FailsOnCorruptSnapshot() throws IOException {
+        try (ScheduleJournal<Integer, String> journal = open(0)) {
+            appendEdits(journal);
+            journal.checkpoint();
+        }
+        Path snapshotFile = listFiles().get(1);
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThrows(IOException.class, () -> open(0));
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.WRITE)) {
+            channel.truncate(6);
+        }
+        assertThrows(IOException.class, () -> open(0));
+    }
+
+    @Test
+    void append_FailsAfterClose() throws IOException {
+        ScheduleJournal<Integer, String> journal = open(0);
+        journal.close();
+        assertThrows(IllegalStateException.class,
+                     () -> journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD,
+                                                          Range.of(0, 1),
+                                                          singletonList("a"))));
+    }
+
+    private ScheduleJournal<Integer, String> open(int checkpointInterval) throws IOException {
+        StaticTimeline<Integer, String> base = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 30), "a"),
+                                                                                 ValuedRange.of(Range.of(40, 50),
+                                                                                                "b")));
+        return ScheduleJournal.open(directory, base, HORIZON, CODEC, checkpointInterval);
+    }
+
+    private static void appendEdits(ScheduleJournal<Integer, String> journal) throws IOException {
+        journal.append(ScheduleEdit.of(ScheduleEdit.Kind.ADD, Range.of(10, 20), singletonList("b")));
+        journal.append(ScheduleEdit.of(ScheduleEdit.Kind.REMOVE, Range.of(15, 30), singletonList("a")));
+        journal.append(ScheduleEdit.of(ScheduleEdit.Kind.OVERRIDE, Range.of(40, 45), singletonList("c")));
+    }
+
+    private static NavigableMap<Integer, List<String>> expectedMap() {
+        return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 15), "a"),
+                                                 ValuedRange.of(Range.of(10, 20), "b"),
+                                                 ValuedRange.of(Range.of(40, 45), "c"),
+                                                 ValuedRange.of(Range.of(45, 50), "b"))).toIntervalMap();
+    }
+
+    private List<Path> listFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private List<String> listFileNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Path file : listFiles()) {
+            names.add(file.getFileName().toString());
+        }
+        return names;
+    }
+}
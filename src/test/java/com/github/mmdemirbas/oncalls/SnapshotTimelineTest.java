@@ -0,0 +1,144 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+final class SnapshotTimelineTest {
+    private static final TimelineCodec<Integer, String> CODEC   = TimelineCodec.of(TimeAxis.integers(), ValueCodec.utf8());
+    private static final Range<Integer>                 HORIZON = Range.of(0, 100);
+
+    private Path          file;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("snapshot-timeline", ".bin");
+        Files.delete(file);
+        builds = new AtomicInteger();
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void toSegment_WritesSnapshotOnFirstUse() {
+        SnapshotTimeline<Integer, String> timeline = snapshot("v1");
+        assertEquals(0, builds.get());
+        assertEquals(source().toSegment(Range.of(5, 50)).toIntervalMap(),
+                     timeline.toSegment(Range.of(5, 50)).toIntervalMap());
+        assertEquals(1, builds.get());
+        assertEquals(true, Files.exists(file));
+    }
+
+    @Test
+    void toSegment_LoadsMatchingSnapshot() {
+        snapshot("v1").toSegment(HORIZON);
+        SnapshotTimeline<Integer, String> timeline = snapshot("v1");
+        assertEquals(source().toSegment(Range.of(5, 50)).toIntervalMap(),
+                     timeline.toSegment(Range.of(5, 50)).toIntervalMap());
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void toSegment_RecalculatesStaleSnapshot() {
+        snapshot("v1").toSegment(HORIZON);
+        snapshot("v2").toSegment(HORIZON);
+        assertEquals(2, builds.get());
+        snapshot("v2").toSegment(HORIZON);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void toSegment_RecalculatesCorruptSnapshot() throws IOException {
+        snapshot("v1").toSegment(HORIZON);
+        Files.write(file, new byte[]{1, 2, 3});
+        SnapshotTimeline<Integer, String> timeline = snapshot("v1");
+        assertEquals(source().toSegment(Range.of(5, 50)).toIntervalMap(),
+                     timeline.toSegment(Range.of(5, 50)).toIntervalMap());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void toSegment_FallsBackToSourceIfSnapshotIsUnwritable() throws IOException {
+        // a regular file as the parent makes the snapshot unwritable even for privileged users
+        Files.createFile(file);
+        Path                              unwritable = file.resolve("snapshot.bin");
+        SnapshotTimeline<Integer, String> timeline   = SnapshotTimeline.of(unwritable,
+                                                                           "v1".getBytes(StandardCharsets.UTF_8),
+                                                                           HORIZON,
+                                                                           CODEC,
+                                                                           SnapshotTimelineTest::source);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(source().toSegment(Range.of(5, 50)).toIntervalMap(),
+                         timeline.toSegment(Range.of(5, 50)).toIntervalMap());
+        }
+        assertEquals(false, Files.exists(unwritable));
+    }
+
+    @Test
+    void toSegment_RetriesOnlyWritingIfSnapshotIsUnwritable() throws IOException {
+        Files.createFile(file);
+        Path                              unwritable  = file.resolve("snapshot.bin");
+        AtomicInteger                     evaluations = new AtomicInteger();
+        SnapshotTimeline<Integer, String> timeline    = SnapshotTimeline.of(unwritable,
+                                                                            "v1".getBytes(StandardCharsets.UTF_8),
+                                                                            HORIZON,
+                                                                            CODEC,
+                                                                            () -> range -> {
+                                                                                evaluations.incrementAndGet();
+                                                                                return source().toSegment(range);
+                                                                            });
+        for (int i = 0; i < 3; i++) {
+            timeline.toSegment(Range.of(5, 50));
+        }
+        assertEquals(1, evaluations.get());
+        assertNotNull(timeline.getWriteFailure());
+
+        Files.delete(file);
+        Files.createDirectory(file);
+        try {
+            timeline.toSegment(Range.of(5, 50));
+            assertEquals(1, evaluations.get());
+            assertNull(timeline.getWriteFailure());
+            assertEquals(true, Files.exists(unwritable));
+        } finally {
+            Files.deleteIfExists(unwritable);
+        }
+    }
+
+    @Test
+    void toSegment_OutsideHorizonUsesSource() {
+        SnapshotTimeline<Integer, String> timeline = snapshot("v1");
+        assertEquals(source().toSegment(Range.of(50, 150)).toIntervalMap(),
+                     timeline.toSegment(Range.of(50, 150)).toIntervalMap());
+        assertEquals(1, builds.get());
+        assertEquals(false, Files.exists(file));
+    }
+
+    private SnapshotTimeline<Integer, String> snapshot(String definition) {
+        return SnapshotTimeline.of(file, definition.getBytes(StandardCharsets.UTF_8), HORIZON, CODEC, () -> {
+            builds.incrementAndGet();
+            return source();
+        });
+    }
+
+    private static Timeline<Integer, String> source() {
+        return UnionTimeline.of(asList(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 30), "a"),
+                                                                         ValuedRange.of(Range.of(60, 120), "a"))),
+                                       StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(20, 70), "b")))));
+    }
+}
@@ -6,9 +6,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -70,6 +72,57 @@ final class StaticTimelineTest {
         assertUnmodifiable(buildTimeline().toIntervalMap());
     }
 
+    @Test
+    void quantize_snapsKeyPointsAndCoalesces() {
+        StaticTimeline<Integer, String> timeline = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(1, 9), "a"),
+                                                                                     ValuedRange.of(Range.of(9, 12), "a"),
+                                                                                     ValuedRange.of(Range.of(12, 14), "b"),
+                                                                                     ValuedRange.of(Range.of(14, 21), "c"),
+                                                                                     ValuedRange.of(Range.of(21, 29), "a")));
+        TimelineSegment<Integer, String> quantized = timeline.quantize(TimeAxis.integers().snapToGrid(10));
+
+        NavigableMap<Integer, List<String>> expected = new TreeMap<>();
+        expected.put(0, asList("a"));
+        expected.put(10, asList("c"));
+        expected.put(20, asList("a"));
+        expected.put(30, emptyList());
+        assertEquals(expected, quantized.toIntervalMap());
+        assertUnmodifiable(quantized.toIntervalMap());
+    }
+
+    @Test
+    void quantize_dropsIntervalsCollapsingToAPoint() {
+        StaticTimeline<Integer, String> timeline = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(1, 3), "a")));
+        assertEquals(emptyMap(), timeline.quantize(TimeAxis.integers().snapToGrid(10)).toIntervalMap());
+    }
+
+    @Test
+    void quantize_rejectsSnapNotPreservingOrder() {
+        assertThrows(IllegalArgumentException.class, () -> buildTimeline().quantize(point -> -point));
+    }
+
+    @Test
+    void quantized_snapsSegmentsOfTimeline() {
+        Timeline<Integer, String> timeline = buildTimeline().quantized(TimeAxis.integers().snapToGrid(2));
+
+        NavigableMap<Integer, List<String>> expected = new TreeMap<>();
+        expected.put(0, asList("a"));
+        expected.put(2, asList("c"));
+        expected.put(4, emptyList());
+        assertEquals(expected, timeline.toSegment(Range.of(0, 3)).toIntervalMap());
+    }
+
+    @Test
+    void quantized_snapsBoundsOfCalculationRangeWithoutClipping() {
+        Timeline<Integer, String> timeline = StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 200), "a")))
+                                                           .quantized(TimeAxis.integers().snapToGrid(60));
+
+        NavigableMap<Integer, List<String>> expected = new TreeMap<>();
+        expected.put(0, asList("a"));
+        expected.put(120, emptyList());
+        assertEquals(expected, timeline.toSegment(Range.of(0, 90)).toIntervalMap());
+    }
+
     private static StaticTimeline<Integer, String> buildTimeline() {
         return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 1), "a"),
                                                  ValuedRange.of(Range.of(1, 2), "b"),
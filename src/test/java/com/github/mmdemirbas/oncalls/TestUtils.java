@@ -23,6 +23,15 @@ final class TestUtils {
         return new SimpleImmutableEntry<>(key, value);
     }
 
+    @SafeVarargs
+    static <V> Timeline<Integer, V> timeline(ValuedRange<Integer, V>... intervals) {
+        return StaticTimeline.ofIntervals(asList(intervals));
+    }
+
+    static <V> ValuedRange<Integer, V> interval(int startInclusive, int endExclusive, V value) {
+        return ValuedRange.of(Range.of(startInclusive, endExclusive), value);
+    }
+
     static <T, R> List<R> map(Collection<? extends T> items, Function<? super T, ? extends R> mapper) {
         return items.stream().map(mapper).collect(Collectors.toList());
     }
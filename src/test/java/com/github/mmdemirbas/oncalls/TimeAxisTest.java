@@ -0,0 +1,86 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class TimeAxisTest {
+    @Test
+    void integers() {
+        assertAxis(TimeAxis.integers(), asList(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> TimeAxis.integers().fromLong(Long.MAX_VALUE));
+    }
+
+    @Test
+    void longs() {
+        assertAxis(TimeAxis.longs(), asList(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE));
+    }
+
+    @Test
+    void instants() {
+        assertAxis(TimeAxis.instants(),
+                   asList(Instant.parse("1800-01-01T00:00:00Z"),
+                          Instant.ofEpochSecond(-1, 999_999_999),
+                          Instant.EPOCH,
+                          Instant.ofEpochSecond(0, 1),
+                          Instant.parse("2018-03-25T01:00:00.123456789Z"),
+                          Instant.parse("2200-01-01T00:00:00Z")));
+        assertEquals(-1, TimeAxis.instants().toLong(Instant.ofEpochSecond(-1, 999_999_999)));
+        assertThrows(ArithmeticException.class, () -> TimeAxis.instants().toLong(Instant.parse("2300-01-01T00:00:00Z")));
+    }
+
+    @Test
+    void instantsInMillis() {
+        assertAxis(TimeAxis.instantsInMillis(),
+                   asList(Instant.parse("1000-01-01T00:00:00Z"), Instant.ofEpochMilli(-1), Instant.EPOCH, Instant.ofEpochMilli(1)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> TimeAxis.instantsInMillis().toLong(Instant.ofEpochSecond(0, 1)));
+    }
+
+    @Test
+    void zonedDateTimes() {
+        ZoneId                  zone   = ZoneId.of("Europe/Istanbul");
+        TimeAxis<ZonedDateTime> axis   = TimeAxis.zonedDateTimes(zone);
+        ZonedDateTime           before = ZonedDateTime.of(2018, 1, 1, 12, 0, 0, 0, zone);
+        assertAxis(axis, asList(before.minusNanos(1), before, before.plusDays(1)));
+
+        ZonedDateTime utc = before.withZoneSameInstant(ZoneId.of("UTC"));
+        assertEquals(before, axis.fromLong(TimeAxis.zonedDateTimes(ZoneId.of("UTC")).toLong(utc)));
+        assertThrows(IllegalArgumentException.class, () -> axis.toLong(utc));
+    }
+
+    @Test
+    void snapToGrid() {
+        UnaryOperator<Long> snap = TimeAxis.longs().snapToGrid(10);
+        assertEquals(asList(0L, 0L, 10L, 10L, -10L, -10L, 0L),
+                     asList(4L, 0L, 5L, 14L, -6L, -14L, -5L).stream().map(snap).collect(Collectors.toList()));
+        assertThrows(ArithmeticException.class, () -> snap.apply(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> TimeAxis.longs().snapToGrid(0));
+    }
+
+    @Test
+    void snapToGrid_instantsToTheMinute() {
+        UnaryOperator<Instant> snap = TimeAxis.instantsInMillis().snapToGrid(60_000);
+        assertEquals(Instant.parse("2018-03-25T01:00:00Z"), snap.apply(Instant.parse("2018-03-25T01:00:29.999Z")));
+        assertEquals(Instant.parse("2018-03-25T01:01:00Z"), snap.apply(Instant.parse("2018-03-25T01:00:30Z")));
+    }
+
+    private static <C extends Comparable<? super C>> void assertAxis(TimeAxis<C> axis, List<C> ascendingPoints) {
+        for (int i = 0; i < ascendingPoints.size(); i++) {
+            C point = ascendingPoints.get(i);
+            assertEquals(point, axis.fromLong(axis.toLong(point)));
+            if (i > 0) {
+                assertEquals(-1, Long.compare(axis.toLong(ascendingPoints.get(i - 1)), axis.toLong(point)), "at " + i);
+            }
+        }
+    }
+}
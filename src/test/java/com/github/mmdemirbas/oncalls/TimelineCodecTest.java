@@ -0,0 +1,84 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TimelineCodecTest {
+    private static final TimelineCodec<Integer, String> CODEC = TimelineCodec.of(TimeAxis.integers(), ValueCodec.utf8());
+
+    @Test
+    void roundTrip_Empty() throws IOException {
+        assertRoundTrip(StaticTimeline.ofIntervals(emptyList()));
+    }
+
+    @Test
+    void roundTrip_OverlappingIntervals() throws IOException {
+        assertRoundTrip(StaticTimeline.ofIntervals(asList(interval(-50, 10, "a"),
+                                                          interval(5, 20, "b"),
+                                                          interval(30, 40, "çok"),
+                                                          interval(35, 1_000_000, "a"))));
+    }
+
+    @Test
+    void roundTrip_PeriodicRotation() throws IOException {
+        StaticTimeline<Integer, String> timeline = rotation(10_000);
+        byte[]                          bytes    = write(timeline);
+
+        assertEquals(timeline.toIntervalMap(), read(bytes).toIntervalMap());
+        assertTrue(bytes.length < (2 * 10_000), "encoded size: " + bytes.length);
+    }
+
+    @Test
+    void read_SharesValueSets() throws IOException {
+        StaticTimeline<Integer, String> timeline = read(write(rotation(4)));
+        assertSame(timeline.findCurrentValues(0), timeline.findCurrentValues(20));
+    }
+
+    @Test
+    void read_InvalidMagic() {
+        assertThrows(IOException.class, () -> read(new byte[] {1, 2, 3, 4, 5}));
+    }
+
+    @Test
+    void write_PointsNotAscending() throws IOException {
+        TimelineWriter<Integer, String> writer = CODEC.newWriter(Channels.newChannel(new ByteArrayOutputStream()));
+        writer.write(10, asList("a"));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(10, emptyList()));
+    }
+
+    private static StaticTimeline<Integer, String> rotation(int count) {
+        List<ValuedRange<Integer, String>> intervals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            intervals.add(interval(i * 10, (i + 1) * 10, String.valueOf(i % 2)));
+        }
+        return StaticTimeline.ofIntervals(intervals);
+    }
+
+    private static void assertRoundTrip(StaticTimeline<Integer, String> timeline) throws IOException {
+        assertEquals(timeline.toIntervalMap(), read(write(timeline)).toIntervalMap());
+    }
+
+    private static byte[] write(TimelineSegment<Integer, String> segment) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CODEC.write(segment, Channels.newChannel(output));
+        return output.toByteArray();
+    }
+
+    private static StaticTimeline<Integer, String> read(byte[] bytes) throws IOException {
+        return CODEC.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+}
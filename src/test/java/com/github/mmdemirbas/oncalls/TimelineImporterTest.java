@@ -0,0 +1,141 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class TimelineImporterTest {
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("timeline-import", ".txt");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void read_SortedCsv() throws IOException {
+        write("0,10,a", "5,20,b", "10,20,a", "", "30,40,a");
+        assertEquals(expectedMap(), read(TimelineImporter.Format.CSV, 100));
+    }
+
+    @Test
+    void read_UnsortedCsvWithHeader() throws IOException {
+        write("start,end,value", "30,40,a", "10,20,a", "5,20,b", "0,10,a");
+        assertEquals(expectedMap(), read(TimelineImporter.Format.CSV_WITH_HEADER, 100));
+        assertEquals(expectedMap(), read(TimelineImporter.Format.CSV_WITH_HEADER, 1));
+        assertEquals(expectedMap(), read(TimelineImporter.Format.CSV_WITH_HEADER, 3));
+    }
+
+    @Test
+    void read_QuotedCsv() throws IOException {
+        write("0, 10, \"x, \"\"y\"\"\"");
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 10), "x, \"y\""))).toIntervalMap(),
+                     read(TimelineImporter.Format.CSV, 100));
+    }
+
+    @Test
+    void read_JsonLines() throws IOException {
+        write("{\"start\": 30, \"end\": 40, \"value\": \"a\"}",
+              "{\"value\": \"b\", \"start\": \"5\", \"end\": 20, \"note\": true}",
+              "{\"start\":0,\"end\":10,\"value\":\"\\u0061\"}",
+              "{\"start\":10,\"end\":20,\"value\":\"a\"}");
+        assertEquals(expectedMap(), read(TimelineImporter.Format.JSON_LINES, 2));
+    }
+
+    @Test
+    void read_JoinsOverlappingRowsOfSameValue() throws IOException {
+        write("0,10,a", "5,15,a", "15,20,a", "20,20,b");
+        assertEquals(StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 20), "a"))).toIntervalMap(),
+                     read(TimelineImporter.Format.CSV, 100));
+    }
+
+    @Test
+    void read_MalformedLine() throws IOException {
+        write("0,10,a", "10,20");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                                  () -> read(TimelineImporter.Format.CSV, 100));
+        assertEquals("malformed line 2: expected 3 fields, but found 2", e.getMessage());
+
+        write("{\"start\": 0, \"end\": 10}");
+        e = assertThrows(IllegalArgumentException.class, () -> read(TimelineImporter.Format.JSON_LINES, 100));
+        assertEquals("malformed line 1: missing member: value", e.getMessage());
+    }
+
+    @Test
+    void read_EndBeforeStart() throws IOException {
+        write("0,10,a", "10,5,b");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                                  () -> read(TimelineImporter.Format.CSV, 100));
+        assertEquals("malformed line 2: end is before start: 5 < 10", e.getMessage());
+
+        write("10,20,a", "0,10,a", "30,25,b");
+        e = assertThrows(IllegalArgumentException.class, () -> read(TimelineImporter.Format.CSV, 1));
+        assertEquals("malformed line 3: end is before start: 25 < 30", e.getMessage());
+    }
+
+    @Test
+    void read_UnparsablePoint() throws IOException {
+        write("0,10,a", "x,20,b");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                                  () -> read(TimelineImporter.Format.CSV, 100));
+        assertEquals("malformed line 2: For input string: \"x\"", e.getMessage());
+
+        write("10,20,a", "0,10,a", "30,y,b");
+        e = assertThrows(IllegalArgumentException.class, () -> read(TimelineImporter.Format.CSV, 1));
+        assertEquals("malformed line 3: For input string: \"y\"", e.getMessage());
+    }
+
+    @Test
+    void read_MergesChunksInPasses() throws IOException {
+        int          count    = (3 * TimelineImporter.MAX_FAN_IN) + 1;
+        List<String> unsorted = new ArrayList<>();
+        List<String> sorted   = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int start = (i * 37) % 100;
+            unsorted.add(start + "," + (start + 5) + ",v" + (i % 3));
+        }
+        for (int start = 0; start < 100; start++) {
+            for (String row : unsorted) {
+                if (row.startsWith(start + ",")) {
+                    sorted.add(row);
+                }
+            }
+        }
+        write(sorted.toArray(new String[0]));
+        NavigableMap<Integer, List<String>> expected = read(TimelineImporter.Format.CSV, count);
+
+        write(unsorted.toArray(new String[0]));
+        assertEquals(expected, read(TimelineImporter.Format.CSV, 1));
+    }
+
+    private NavigableMap<Integer, List<String>> read(TimelineImporter.Format format, int maxRowsInMemory) throws IOException {
+        return TimelineImporter.of(Integer::valueOf, value -> value, maxRowsInMemory).read(file, format).toIntervalMap();
+    }
+
+    private void write(String... lines) throws IOException {
+        Files.write(file, asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private static NavigableMap<Integer, List<String>> expectedMap() {
+        return StaticTimeline.ofIntervals(asList(ValuedRange.of(Range.of(0, 20), "a"),
+                                                 ValuedRange.of(Range.of(5, 20), "b"),
+                                                 ValuedRange.of(Range.of(30, 40), "a"))).toIntervalMap();
+    }
+}
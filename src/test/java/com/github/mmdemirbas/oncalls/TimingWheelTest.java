@@ -0,0 +1,67 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TimingWheelTest {
+    @Test
+    void advanceTo_ExpiresOnlyReachedDeadlines() {
+        TimingWheel<Long> wheel   = new TimingWheel<>(0);
+        List<Long>        expired = new ArrayList<>();
+        asList(5L, 64L, 63L, 4096L, 1L << 40).forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        wheel.advanceTo(63, expired::add);
+        assertEquals(asList(5L, 63L), expired);
+
+        wheel.advanceTo(5000, expired::add);
+        assertEquals(asList(5L, 63L, 64L, 4096L), expired);
+
+        wheel.advanceTo(1L << 41, expired::add);
+        assertEquals(asList(5L, 63L, 64L, 4096L, 1L << 40), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_PastDeadlineExpiresOnNextAdvance() {
+        TimingWheel<Long> wheel   = new TimingWheel<>(100);
+        List<Long>        expired = new ArrayList<>();
+        wheel.schedule(50, 50L);
+
+        wheel.advanceTo(100, expired::add);
+        assertEquals(asList(50L), expired);
+    }
+
+    @Test
+    void advanceTo_RandomDeadlinesExpireInOrder() {
+        Random            random  = new Random(42);
+        TimingWheel<Long> wheel   = new TimingWheel<>(0);
+        List<Long>        expired = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long deadline = random.nextInt(1 << 24);
+            wheel.schedule(deadline, deadline);
+        }
+
+        long tick = 0;
+        while (wheel.size() > 0) {
+            tick += random.nextInt(1 << 16);
+            long reached = tick;
+            wheel.advanceTo(tick, deadline -> {
+                assertTrue(deadline <= reached);
+                expired.add(deadline);
+            });
+            assertEquals(tick, wheel.getCurrentTick());
+        }
+
+        List<Long> sorted = new ArrayList<>(expired);
+        sorted.sort(null);
+        assertEquals(sorted, expired);
+        assertEquals(1000, expired.size());
+    }
+}
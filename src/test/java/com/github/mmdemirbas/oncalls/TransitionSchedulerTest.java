@@ -0,0 +1,89 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mmdemirbas.oncalls.TestUtils.interval;
+import static com.github.mmdemirbas.oncalls.TestUtils.timeline;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class TransitionSchedulerTest {
+    @Test
+    void advanceTo_FiresTransitionsInOrder() {
+        List<HandoffEvent<String, Integer, String>> events    = new ArrayList<>();
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(events);
+        scheduler.schedule("x", timeline(interval(0, 10, "a"), interval(10, 25, "b")));
+        scheduler.schedule("y", timeline(interval(5, 15, "c")));
+
+        scheduler.advanceTo(9);
+        assertEquals(asList(HandoffEvent.of(5, "y", asList("c"), emptyList())), events);
+
+        events.clear();
+        scheduler.advanceTo(100);
+        assertEquals(asList(HandoffEvent.of(10, "x", asList("b"), asList("a")),
+                            HandoffEvent.of(15, "y", emptyList(), asList("c")),
+                            HandoffEvent.of(25, "x", emptyList(), asList("b"))), events);
+    }
+
+    @Test
+    void advanceTo_NoEventsAtWindowBoundaries() {
+        List<HandoffEvent<String, Integer, String>> events    = new ArrayList<>();
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(events);
+        scheduler.schedule("x", timeline(interval(0, 1000, "a")));
+
+        scheduler.advanceTo(999);
+        assertEquals(emptyList(), events);
+
+        scheduler.advanceTo(1000);
+        assertEquals(asList(HandoffEvent.of(1000, "x", emptyList(), asList("a"))), events);
+    }
+
+    @Test
+    void advanceTo_FarFuture() {
+        List<HandoffEvent<String, Integer, String>> events    = new ArrayList<>();
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(events);
+        scheduler.schedule("x", timeline(interval(1_000_000, 1_000_001, "a")));
+
+        scheduler.advanceTo(2_000_000);
+        assertEquals(asList(HandoffEvent.of(1_000_000, "x", asList("a"), emptyList()),
+                            HandoffEvent.of(1_000_001, "x", emptyList(), asList("a"))), events);
+    }
+
+    @Test
+    void cancel() {
+        List<HandoffEvent<String, Integer, String>> events    = new ArrayList<>();
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(events);
+        scheduler.schedule("x", timeline(interval(0, 10, "a"), interval(10, 20, "b")));
+        scheduler.cancel("x");
+
+        scheduler.advanceTo(100);
+        assertEquals(emptyList(), events);
+    }
+
+    @Test
+    void schedule_ReplacesTimelineWithSameId() {
+        List<HandoffEvent<String, Integer, String>> events    = new ArrayList<>();
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(events);
+        scheduler.schedule("x", timeline(interval(0, 10, "a")));
+        scheduler.schedule("x", timeline(interval(0, 20, "a")));
+
+        scheduler.advanceTo(100);
+        assertEquals(asList(HandoffEvent.of(20, "x", emptyList(), asList("a"))), events);
+    }
+
+    @Test
+    void advanceTo_Backwards() {
+        TransitionScheduler<String, Integer, String> scheduler = newScheduler(new ArrayList<>());
+        scheduler.advanceTo(10);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.advanceTo(9));
+    }
+
+    private static TransitionScheduler<String, Integer, String> newScheduler(List<HandoffEvent<String, Integer, String>> events) {
+        return TransitionScheduler.of(point -> point, point -> point + 10, 0, events::add);
+    }
+}
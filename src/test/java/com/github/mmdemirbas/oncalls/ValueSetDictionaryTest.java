@@ -0,0 +1,50 @@
+package com.github.mmdemirbas.oncalls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ValueSetDictionaryTest {
+    @Test
+    void intern_SharesEqualLists() {
+        ValueSetDictionary<String> dictionary = new ValueSetDictionary<>();
+        List<String>               input      = new ArrayList<>(asList("a", "b"));
+        List<String>               interned   = dictionary.intern(input);
+        assertNotSame(input, interned);
+        assertSame(interned, dictionary.intern(asList("a", "b")));
+        assertNotSame(interned, dictionary.intern(asList("b", "a")));
+        assertEquals(2, dictionary.size());
+
+        input.clear();
+        assertEquals(asList("a", "b"), interned);
+        assertThrows(UnsupportedOperationException.class, () -> interned.add("c"));
+    }
+
+    @Test
+    void intern_EmptyLists() {
+        ValueSetDictionary<String> dictionary = new ValueSetDictionary<>();
+        assertSame(emptyList(), dictionary.intern(null));
+        assertSame(emptyList(), dictionary.intern(new ArrayList<>()));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    void buildIntervalMap_SharesValueLists() {
+        List<ValuedRange<Integer, String>> intervals = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            intervals.add(ValuedRange.of(Range.of(4 * i, (4 * i) + 2), "a"));
+            intervals.add(ValuedRange.of(Range.of((4 * i) + 2, (4 * i) + 4), "b"));
+        }
+        StaticTimeline<Integer, String> timeline = StaticTimeline.ofIntervals(intervals);
+        assertSame(timeline.findCurrentValues(0), timeline.findCurrentValues(36));
+        assertSame(timeline.findCurrentValues(2), timeline.findCurrentValues(38));
+    }
+}
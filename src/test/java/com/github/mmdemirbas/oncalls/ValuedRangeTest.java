@@ -67,6 +67,24 @@ final class ValuedRangeTest {
                           asList(interval(1, 3, "a"), interval(3, 5, "b"), interval(5, 7, "c")));
     }
 
+    @Test
+    void buildIntervalMap_InterleavedEventsWithSameValue() {
+        assertIntervalMap(mapOf(pair(0, asList("a")), pair(5, asList("a", "b")), pair(20, asList())),
+                          asList(interval(0, 10, "a"), interval(5, 20, "b"), interval(10, 20, "a")));
+    }
+
+    @Test
+    void toDisjointIntervals_JoinsInterleavedIntervalsOfSameValue() {
+        assertEquals(asList(interval(0, 20, "a"), interval(5, 12, "b"), interval(15, 16, "b"), interval(30, 40, "a")),
+                     ValuedRange.toDisjointIntervals(asList(interval(15, 16, "b"),
+                                                            interval(0, 10, "a"),
+                                                            interval(5, 8, "b"),
+                                                            interval(6, 12, "b"),
+                                                            interval(10, 20, "a"),
+                                                            interval(12, 12, "c"),
+                                                            interval(30, 40, "a"))));
+    }
+
     private static void assertIntervalMap(Map<Integer, List<String>> expected,
                                           Collection<ValuedRange<Integer, String>> intervals) {
         assertEquals(expected, ValuedRange.buildIntervalMap(intervals));